@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.util.TypeLiteral;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link AsyncReferenceImpl} resolution using a worker thread with the resolution using a producer of {@link CompletionStage}.
+ *
+ * @author Martin Kouba
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncReferenceBenchmark {
+
+    private BenchmarkContainer container;
+
+    private Instance<AsyncReference<WorkerService>> workerReferences;
+
+    private Instance<AsyncReference<ProducedService>> producedReferences;
+
+    @Setup
+    public void setup() throws Exception {
+        container = BenchmarkContainer.start(AsyncReferenceImpl.class, WorkerService.class, ServiceProducer.class);
+        workerReferences = container.container.select(new TypeLiteral<AsyncReference<WorkerService>>() {
+        });
+        producedReferences = container.container.select(new TypeLiteral<AsyncReference<ProducedService>>() {
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.stop();
+    }
+
+    @Benchmark
+    public Object worker() throws Exception {
+        AsyncReference<WorkerService> reference = workerReferences.get();
+        try {
+            return reference.toCompletableFuture().get();
+        } finally {
+            workerReferences.destroy(reference);
+        }
+    }
+
+    @Benchmark
+    public Object completionStage() throws Exception {
+        AsyncReference<ProducedService> reference = producedReferences.get();
+        try {
+            return reference.toCompletableFuture().get();
+        } finally {
+            producedReferences.destroy(reference);
+        }
+    }
+
+    @Dependent
+    public static class WorkerService {
+
+    }
+
+    public static class ProducedService {
+
+    }
+
+    @ApplicationScoped
+    public static class ServiceProducer {
+
+        @Produces
+        CompletionStage<ProducedService> produce() {
+            return CompletableFuture.completedFuture(new ProducedService());
+        }
+
+    }
+
+}
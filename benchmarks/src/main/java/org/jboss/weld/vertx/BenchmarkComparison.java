@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compares two JMH result files in JSON format (see the <code>-rf json</code> option) and reports the benchmarks whose score got worse by more than the given
+ * threshold. A difference which does not exceed the combined score error of both results is considered noise. The benchmarks missing in the current results
+ * are reported as well.
+ * <p>
+ * Usage: <code>BenchmarkComparison baseline.json current.json [threshold]</code>, where the threshold is a percentage and the default value is
+ * {@value #DEFAULT_THRESHOLD}. The process exits with status code 1 if a regression is detected.
+ * </p>
+ *
+ * @author Martin Kouba
+ */
+public final class BenchmarkComparison {
+
+    static final double DEFAULT_THRESHOLD = 5.0;
+
+    private static final String THROUGHPUT_MODE = "thrpt";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison baseline.json current.json [threshold]");
+            System.exit(2);
+        }
+        Map<String, JsonObject> baseline = read(args[0]);
+        Map<String, JsonObject> current = read(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        int regressions = 0;
+        for (Entry<String, JsonObject> entry : current.entrySet()) {
+            JsonObject previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-80s %s%n", entry.getKey(), "NEW");
+                continue;
+            }
+            double before = score(previous);
+            double after = score(entry.getValue());
+            double delta = before != 0 ? (after - before) / before * 100 : 0;
+            // For throughput higher is better, for the time-based modes lower is better
+            double degradation = THROUGHPUT_MODE.equals(entry.getValue().getString("mode")) ? -delta : delta;
+            // The difference must not be within the confidence intervals of both results
+            boolean regression = degradation > threshold && Math.abs(after - before) > scoreError(previous) + scoreError(entry.getValue());
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-80s %12.3f -> %12.3f %s %+7.2f%%%s%n", entry.getKey(), before, after, unit(entry.getValue()), delta,
+                    regression ? "  REGRESSION" : "");
+        }
+        int missing = 0;
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                missing++;
+                System.out.printf("%-80s %s%n", key, "MISSING");
+            }
+        }
+        System.out.printf("%s benchmarks compared, %s regressions, %s missing (threshold %.2f%%)%n", current.size(), regressions, missing,
+                threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonObject> read(String file) throws IOException {
+        JsonArray results = new JsonArray(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+        Map<String, JsonObject> benchmarks = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JsonObject result = results.getJsonObject(i);
+            benchmarks.put(key(result), result);
+        }
+        return benchmarks;
+    }
+
+    private static String key(JsonObject result) {
+        StringBuilder key = new StringBuilder(result.getString("benchmark"));
+        JsonObject params = result.getJsonObject("params");
+        if (params != null) {
+            key.append(params.getMap().toString());
+        }
+        return key.append(" (").append(result.getString("mode")).append(")").toString();
+    }
+
+    private static double score(JsonObject result) {
+        return result.getJsonObject("primaryMetric").getDouble("score");
+    }
+
+    private static double scoreError(JsonObject result) {
+        // JMH writes "NaN" if the error cannot be computed, e.g. for a single iteration
+        Object error = result.getJsonObject("primaryMetric").getValue("scoreError");
+        if (error instanceof Number) {
+            double value = ((Number) error).doubleValue();
+            return Double.isNaN(value) ? 0 : value;
+        }
+        return 0;
+    }
+
+    private static String unit(JsonObject result) {
+        return result.getJsonObject("primaryMetric").getString("scoreUnit");
+    }
+
+}
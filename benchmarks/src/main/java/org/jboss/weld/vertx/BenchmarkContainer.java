@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.WeldContainer;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Starts a Vertx instance and deploys a {@link WeldVerticle} with the given bean classes, i.e. no bean discovery is performed.
+ *
+ * @author Martin Kouba
+ */
+class BenchmarkContainer {
+
+    private static final long TIMEOUT = 30;
+
+    final Vertx vertx;
+
+    final WeldContainer container;
+
+    static BenchmarkContainer start(Class<?>... beanClasses) throws Exception {
+        Vertx vertx = Vertx.vertx();
+        WeldVerticle weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(beanClasses));
+        CompletableFuture<String> deployment = new CompletableFuture<>();
+        vertx.deployVerticle(weldVerticle, r -> {
+            if (r.succeeded()) {
+                deployment.complete(r.result());
+            } else {
+                deployment.completeExceptionally(r.cause());
+            }
+        });
+        deployment.get(TIMEOUT, TimeUnit.SECONDS);
+        return new BenchmarkContainer(vertx, weldVerticle.container());
+    }
+
+    private BenchmarkContainer(Vertx vertx, WeldContainer container) {
+        this.vertx = vertx;
+        this.container = container;
+    }
+
+    void stop() throws Exception {
+        CompletableFuture<Void> close = new CompletableFuture<>();
+        vertx.close(r -> close.complete(null));
+        close.get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+}
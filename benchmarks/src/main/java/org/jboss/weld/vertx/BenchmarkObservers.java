@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
+
+/**
+ * Observer methods used by {@link DispatchBenchmark} and {@link ReplyBenchmark}.
+ *
+ * @author Martin Kouba
+ */
+@ApplicationScoped
+public class BenchmarkObservers {
+
+    static final String DISPATCH_ADDRESS_PREFIX = "bench.dispatch.";
+
+    static final String ECHO_ADDRESS = "bench.echo";
+
+    static final String FORWARD_ADDRESS = "bench.forward";
+
+    public void eventLoop(@Observes @VertxConsumer(value = DISPATCH_ADDRESS_PREFIX + "EVENT_LOOP", mode = DispatchMode.EVENT_LOOP) VertxEvent event) {
+        event.setReply(event.getMessageBody());
+    }
+
+    public void workerOrdered(@Observes @VertxConsumer(value = DISPATCH_ADDRESS_PREFIX + "WORKER_ORDERED", mode = DispatchMode.WORKER_ORDERED) VertxEvent event) {
+        event.setReply(event.getMessageBody());
+    }
+
+    public void workerUnordered(
+            @Observes @VertxConsumer(value = DISPATCH_ADDRESS_PREFIX + "WORKER_UNORDERED", mode = DispatchMode.WORKER_UNORDERED) VertxEvent event) {
+        event.setReply(event.getMessageBody());
+    }
+
+    public void workerKeyed(@Observes @VertxConsumer(value = DISPATCH_ADDRESS_PREFIX + "WORKER_KEYED", mode = DispatchMode.WORKER_KEYED) VertxEvent event) {
+        event.setReply(event.getMessageBody());
+    }
+
+    public void echo(@Observes @VertxConsumer(value = ECHO_ADDRESS, mode = DispatchMode.EVENT_LOOP) VertxEvent event) {
+        event.setReply(event.getMessageBody());
+    }
+
+    public void forward(@Observes @VertxConsumer(value = FORWARD_ADDRESS, mode = DispatchMode.EVENT_LOOP) VertxEvent event) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        event.messageTo(ECHO_ADDRESS).send(event.getMessageBody(), r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result().body());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        event.setAsyncReply(reply);
+    }
+
+}
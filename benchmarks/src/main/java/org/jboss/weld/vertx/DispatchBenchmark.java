@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.eventbus.EventBus;
+
+/**
+ * Measures the {@link VertxHandler} dispatch for each {@link VertxConsumer.DispatchMode}, i.e. a message is sent and the observer method replies.
+ *
+ * @author Martin Kouba
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DispatchBenchmark {
+
+    private static final int PIPELINED = 100;
+
+    @Param({ "EVENT_LOOP", "WORKER_ORDERED", "WORKER_UNORDERED", "WORKER_KEYED" })
+    public String mode;
+
+    private BenchmarkContainer container;
+
+    private EventBus eventBus;
+
+    private String address;
+
+    @Setup
+    public void setup() throws Exception {
+        container = BenchmarkContainer.start(BenchmarkObservers.class);
+        eventBus = container.vertx.eventBus();
+        address = BenchmarkObservers.DISPATCH_ADDRESS_PREFIX + mode;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.stop();
+    }
+
+    /**
+     * Multiple messages are in flight at the same time.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @OperationsPerInvocation(PIPELINED)
+    public void throughput() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(PIPELINED);
+        for (int i = 0; i < PIPELINED; i++) {
+            eventBus.send(address, i, r -> latch.countDown());
+        }
+        latch.await();
+    }
+
+    /**
+     * A single message round trip.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object latency() throws Exception {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        eventBus.send(address, "ping", r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result().body());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        return reply.get();
+    }
+
+}
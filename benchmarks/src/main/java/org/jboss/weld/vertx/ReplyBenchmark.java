@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.eventbus.EventBus;
+
+/**
+ * Measures the reply round trips through {@link VertxMessageImpl}.
+ *
+ * @author Martin Kouba
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReplyBenchmark {
+
+    private BenchmarkContainer container;
+
+    private EventBus eventBus;
+
+    @Setup
+    public void setup() throws Exception {
+        container = BenchmarkContainer.start(BenchmarkObservers.class);
+        eventBus = container.vertx.eventBus();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.stop();
+    }
+
+    /**
+     * A message sent via {@link VertxMessageImpl} and replied by an observer method.
+     */
+    @Benchmark
+    public Object messageRoundTrip() throws Exception {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        new VertxMessageImpl(BenchmarkObservers.ECHO_ADDRESS, eventBus, 0).send("ping", r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result().body());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        return reply.get();
+    }
+
+    /**
+     * An observer method sends a message via {@link VertxEvent#messageTo(String)} and replies asynchronously once the nested reply is received.
+     */
+    @Benchmark
+    public Object nestedRoundTrip() throws Exception {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        eventBus.send(BenchmarkObservers.FORWARD_ADDRESS, "ping", r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result().body());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        return reply.get();
+    }
+
+}
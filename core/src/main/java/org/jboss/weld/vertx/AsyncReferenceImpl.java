@@ -16,10 +16,7 @@
  */
 package org.jboss.weld.vertx;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.Arrays;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -30,14 +27,14 @@ import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 
-import org.jboss.weld.exceptions.AmbiguousResolutionException;
 import org.jboss.weld.inject.WeldInstance;
-import org.jboss.weld.inject.WeldInstance.Handler;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
-import org.jboss.weld.logging.BeanManagerLogger;
-import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
 
 /**
@@ -51,6 +48,9 @@ import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
  * <ol>
  * the set of bean types of this bean is restricted
  * </ol>
+ * <ol>
+ * the type-safe resolution is only performed once for the given required type and qualifiers - see {@link AsyncReferencePlan}
+ * </ol>
  * </ul>
  *
  * @author Martin Kouba
@@ -70,28 +70,36 @@ class AsyncReferenceImpl<T> extends ForwardingCompletionStage<T> implements Asyn
 
     private volatile Throwable cause;
 
+    private final long start;
+
+    private final DispatchMetricsImpl metrics;
+
+    @SuppressWarnings("unchecked")
     @Inject
     public AsyncReferenceImpl(InjectionPoint injectionPoint, Vertx vertx, BeanManager beanManager, @Any WeldInstance<Object> instance) {
+        this.start = System.nanoTime();
         this.isDone = new AtomicBoolean(false);
         this.future = new VertxCompletableFuture<>(vertx);
         this.instance = instance;
 
-        ParameterizedType parameterizedType = (ParameterizedType) injectionPoint.getType();
-        Type requiredType = parameterizedType.getActualTypeArguments()[0];
-        Annotation[] qualifiers = injectionPoint.getQualifiers().toArray(new Annotation[] {});
+        VertxExtension extension = getExtension(beanManager);
+        this.metrics = extension != null ? extension.getMetrics() : null;
 
-        // First check if there is a relevant async producer method available
-        WeldInstance<Object> completionStage = instance.select(new ParameterizedTypeImpl(CompletionStage.class, requiredType), qualifiers);
+        ParameterizedType parameterizedType = (ParameterizedType) injectionPoint.getType();
+        AsyncReferencePlan.Key key = new AsyncReferencePlan.Key(parameterizedType.getActualTypeArguments()[0], injectionPoint.getQualifiers());
+        AsyncReferencePlan plan = extension != null ? extension.getAsyncReferencePlan(key, beanManager) : AsyncReferencePlan.create(beanManager, key);
 
-        if (completionStage.isAmbiguous()) {
-            failure(new AmbiguousResolutionException(
-                    "Ambiguous async producer methods for type " + requiredType + " with qualifiers " + injectionPoint.getQualifiers()));
-        } else if (!completionStage.isUnsatisfied()) {
+        if (plan.hasFailure()) {
+            failure(plan.createFailure());
+        } else if (plan.isCompletionStage()) {
             // Use the produced CompletionStage
-            initWithCompletionStage(completionStage.getHandler());
+            initWithCompletionStage(plan);
+        } else if (plan.getSharedReference() != null) {
+            // @ApplicationScoped bean instance already initialized
+            sucess((T) plan.getSharedReference());
         } else {
             // Use Vertx worker thread
-            initWithWorker(requiredType, qualifiers, vertx, beanManager);
+            initWithWorker(plan, vertx, extension);
         }
     }
 
@@ -120,8 +128,8 @@ class AsyncReferenceImpl<T> extends ForwardingCompletionStage<T> implements Asyn
     }
 
     @SuppressWarnings("unchecked")
-    private void initWithCompletionStage(Handler<Object> completionStage) {
-        Object possibleStage = completionStage.get();
+    private void initWithCompletionStage(AsyncReferencePlan plan) {
+        Object possibleStage = plan.getReference(instance);
         if (possibleStage instanceof CompletionStage) {
             ((CompletionStage<T>) possibleStage).whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -131,35 +139,47 @@ class AsyncReferenceImpl<T> extends ForwardingCompletionStage<T> implements Asyn
                 }
             });
         } else {
-            throw new IllegalStateException("The contextual reference of " + completionStage.getBean() + " is not a CompletionStage");
+            throw new IllegalStateException("The contextual reference is not a CompletionStage: " + plan);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private void initWithWorker(Type requiredType, Annotation[] qualifiers, Vertx vertx, BeanManager beanManager) {
-        vertx.<Object> executeBlocking((f -> {
-            WeldInstance<Object> asyncInstance = instance.select(requiredType, qualifiers);
-            if (asyncInstance.isUnsatisfied()) {
-                f.fail(BeanManagerLogger.LOG.injectionPointHasUnsatisfiedDependencies(Arrays.toString(qualifiers), requiredType, ""));
-                return;
-            } else if (asyncInstance.isAmbiguous()) {
-                f.fail(BeanManagerLogger.LOG.injectionPointHasAmbiguousDependencies(Arrays.toString(qualifiers), requiredType, ""));
-                return;
-            }
-            Handler<Object> handler = asyncInstance.getHandler();
-            Object beanInstance = handler.get();
-            if (beanManager.isNormalScope(handler.getBean().getScope()) && beanInstance instanceof TargetInstanceProxy) {
+    private void initWithWorker(AsyncReferencePlan plan, Vertx vertx, VertxExtension extension) {
+        // Unordered by default so that multiple references from the same context are resolved in parallel
+        boolean ordered = extension != null && extension.isAsyncReferenceOrdered();
+        WorkerExecutor executor = extension != null ? extension.getAsyncReferenceExecutor() : null;
+        Handler<Future<Object>> resolution = f -> {
+            Object beanInstance = plan.getReference(instance);
+            if (plan.isNormalScoped() && beanInstance instanceof TargetInstanceProxy) {
                 // Initialize normal scoped bean instance eagerly
                 ((TargetInstanceProxy<?>) beanInstance).getTargetInstance();
+                if (plan.isShared()) {
+                    plan.setSharedReference(beanInstance);
+                }
             }
             f.complete(beanInstance);
-        }), (r) -> {
+        };
+        Handler<AsyncResult<Object>> resultHandler = r -> {
             if (r.succeeded()) {
                 sucess((T) r.result());
             } else {
                 failure(r.cause());
             }
-        });
+        };
+        if (executor != null) {
+            executor.executeBlocking(resolution, ordered, resultHandler);
+        } else {
+            vertx.executeBlocking(resolution, ordered, resultHandler);
+        }
+    }
+
+    private static VertxExtension getExtension(BeanManager beanManager) {
+        try {
+            return beanManager.getExtension(VertxExtension.class);
+        } catch (IllegalArgumentException e) {
+            // VertxExtension is optional
+            return null;
+        }
     }
 
     private void sucess(T result) {
@@ -172,6 +192,9 @@ class AsyncReferenceImpl<T> extends ForwardingCompletionStage<T> implements Asyn
 
     private void complete(T result, Throwable cause) {
         if (isDone.compareAndSet(false, true)) {
+            if (metrics != null) {
+                metrics.asyncReferenceResolution(System.nanoTime() - start);
+            }
             if (cause != null) {
                 this.cause = cause;
                 this.future.completeExceptionally(cause);
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.AmbiguousResolutionException;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.inject.WeldInstance;
+import org.jboss.weld.logging.BeanManagerLogger;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+
+/**
+ * The result of the type-safe resolution for an {@link AsyncReference} with the given required type and qualifiers. The result never changes after bootstrap
+ * so that a plan can be reused for all the references with the same required type and qualifiers.
+ *
+ * @author Martin Kouba
+ * @see AsyncReferenceImpl
+ */
+@Vetoed
+final class AsyncReferencePlan {
+
+    static AsyncReferencePlan create(BeanManager beanManager, Key key) {
+        Type stageType = new ParameterizedTypeImpl(CompletionStage.class, key.requiredType);
+        Annotation[] qualifiers = key.qualifiers.toArray(new Annotation[] {});
+
+        // First check if there is a relevant async producer method available
+        Set<Bean<?>> stageBeans = beanManager.getBeans(stageType, qualifiers);
+        if (!stageBeans.isEmpty()) {
+            try {
+                return new AsyncReferencePlan(beanManager, stageType, qualifiers, beanManager.resolve(stageBeans), true, null);
+            } catch (AmbiguousResolutionException e) {
+                return new AsyncReferencePlan(beanManager, stageType, qualifiers, null, true,
+                        () -> new org.jboss.weld.exceptions.AmbiguousResolutionException(
+                                "Ambiguous async producer methods for type " + key.requiredType + " with qualifiers " + key.qualifiers));
+            }
+        }
+        Set<Bean<?>> beans = beanManager.getBeans(key.requiredType, qualifiers);
+        if (beans.isEmpty()) {
+            return new AsyncReferencePlan(beanManager, key.requiredType, qualifiers, null, false,
+                    () -> BeanManagerLogger.LOG.injectionPointHasUnsatisfiedDependencies(Arrays.toString(qualifiers), key.requiredType, ""));
+        }
+        try {
+            return new AsyncReferencePlan(beanManager, key.requiredType, qualifiers, beanManager.resolve(beans), false, null);
+        } catch (AmbiguousResolutionException e) {
+            return new AsyncReferencePlan(beanManager, key.requiredType, qualifiers, null, false,
+                    () -> BeanManagerLogger.LOG.injectionPointHasAmbiguousDependencies(Arrays.toString(qualifiers), key.requiredType, ""));
+        }
+    }
+
+    private final BeanManager beanManager;
+
+    // Either the required type or CompletionStage<required type>
+    private final Type type;
+
+    private final Annotation[] qualifiers;
+
+    private final Bean<?> bean;
+
+    private final boolean completionStage;
+
+    // A new exception is created for each reference
+    private final Supplier<RuntimeException> failure;
+
+    private final boolean normalScoped;
+
+    // Client proxy of a normal scoped bean
+    private volatile Object clientProxy;
+
+    // Initialized reference of an @ApplicationScoped bean
+    private volatile Object sharedReference;
+
+    private AsyncReferencePlan(BeanManager beanManager, Type type, Annotation[] qualifiers, Bean<?> bean, boolean completionStage,
+            Supplier<RuntimeException> failure) {
+        this.beanManager = beanManager;
+        this.type = type;
+        this.qualifiers = qualifiers;
+        this.bean = bean;
+        this.completionStage = completionStage;
+        this.failure = failure;
+        this.normalScoped = bean != null && beanManager.isNormalScope(bean.getScope());
+    }
+
+    boolean hasFailure() {
+        return failure != null;
+    }
+
+    /**
+     *
+     * @return a new resolution failure or <code>null</code>
+     */
+    RuntimeException createFailure() {
+        return failure != null ? failure.get() : null;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if a producer of {@link CompletionStage} should be used
+     */
+    boolean isCompletionStage() {
+        return completionStage;
+    }
+
+    boolean isNormalScoped() {
+        return normalScoped;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the reference obtained can be shared by all the {@link AsyncReference}s
+     */
+    boolean isShared() {
+        return ApplicationScoped.class.equals(bean.getScope());
+    }
+
+    Object getSharedReference() {
+        return sharedReference;
+    }
+
+    void setSharedReference(Object reference) {
+        this.sharedReference = reference;
+    }
+
+    /**
+     * May block, e.g. if the bean instance is created.
+     *
+     * @param instance the instance bound to the {@link AsyncReference}
+     * @return the contextual reference
+     */
+    Object getReference(WeldInstance<Object> instance) {
+        if (Dependent.class.equals(bean.getScope())) {
+            // Dependent objects are destroyed together with the AsyncReference
+            return instance.select(type, qualifiers).get();
+        }
+        if (normalScoped) {
+            Object proxy = clientProxy;
+            if (proxy == null) {
+                proxy = beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+                clientProxy = proxy;
+            }
+            return proxy;
+        }
+        return beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncReferencePlan [type=" + type + ", qualifiers=" + Arrays.toString(qualifiers) + ", bean=" + bean + ", failure=" + createFailure() + "]";
+    }
+
+    static final class Key {
+
+        private final Type requiredType;
+
+        private final Set<Annotation> qualifiers;
+
+        Key(Type requiredType, Set<Annotation> qualifiers) {
+            this.requiredType = requiredType;
+            this.qualifiers = qualifiers;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * requiredType.hashCode() + qualifiers.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return requiredType.equals(other.requiredType) && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public String toString() {
+            return requiredType + " " + qualifiers;
+        }
+
+    }
+
+}
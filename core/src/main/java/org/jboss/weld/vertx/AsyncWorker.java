@@ -22,12 +22,13 @@ import java.util.concurrent.CompletionStage;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
 
 /**
- * Allows to wrap a synchronous action as an asynchronous computation. The action is performed either as blocking operation using a Vertx worker thread or as
- * non-blocking operation using the Vertx event-loop thread.
+ * Allows to wrap a synchronous action as an asynchronous computation. The action is performed either as blocking operation using a Vertx worker thread (or a
+ * virtual thread) or as non-blocking operation using the Vertx event-loop thread.
  *
  * <pre>
  * &#64;ApplicationScoped
@@ -111,4 +112,30 @@ public class AsyncWorker {
         return future;
     }
 
+    /**
+     * Performs the specified action using a new virtual thread. The returned completion stage is completed from the current Vertx context.
+     * <p>
+     * Virtual threads require JDK 21+. If not supported, {@link #performBlocking(Callable)} is used instead.
+     * </p>
+     *
+     * @param action
+     * @return a completion stage with the result of the specified action
+     */
+    public <V> CompletionStage<V> performVirtual(Callable<V> action) {
+        if (!VirtualThreads.isSupported()) {
+            return performBlocking(action);
+        }
+        VertxCompletableFuture<V> future = new VertxCompletableFuture<>(vertx);
+        Context context = vertx.getOrCreateContext();
+        VirtualThreads.execute(() -> {
+            try {
+                V result = action.call();
+                context.runOnContext(v -> future.complete(result));
+            } catch (Throwable e) {
+                context.runOnContext(v -> future.completeExceptionally(e));
+            }
+        });
+        return future;
+    }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Converts a message body to a target type. A converter is resolved once for each pair of body type and target type. The cache is bound to a container
+ * because the keys are usually application classes - see {@link VertxExtension}.
+ *
+ * @author Martin Kouba
+ * @see VertxEvent#getMessageBody(Class)
+ */
+@Vetoed
+final class BodyConverters {
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Function<Object, Object>>> cache;
+
+    BodyConverters() {
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    <T> T convert(Object body, Class<T> targetType) {
+        ConcurrentMap<Class<?>, Function<Object, Object>> converters = cache.computeIfAbsent(body.getClass(), c -> new ConcurrentHashMap<>());
+        Function<Object, Object> converter = converters.get(targetType);
+        if (converter == null) {
+            converter = converters.computeIfAbsent(targetType, t -> resolve(body.getClass(), t));
+        }
+        return targetType.cast(converter.apply(body));
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    private static Function<Object, Object> resolve(Class<?> bodyType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(bodyType)) {
+            return Function.identity();
+        }
+        if (String.class.equals(bodyType)) {
+            if (JsonObject.class.equals(targetType)) {
+                return b -> new JsonObject((String) b);
+            } else if (JsonArray.class.equals(targetType)) {
+                return b -> new JsonArray((String) b);
+            } else if (Buffer.class.equals(targetType)) {
+                return b -> Buffer.buffer((String) b);
+            }
+            return b -> Json.decodeValue((String) b, targetType);
+        }
+        if (Buffer.class.isAssignableFrom(bodyType)) {
+            if (String.class.equals(targetType)) {
+                return Object::toString;
+            } else if (JsonObject.class.equals(targetType)) {
+                return b -> ((Buffer) b).toJsonObject();
+            } else if (JsonArray.class.equals(targetType)) {
+                return b -> ((Buffer) b).toJsonArray();
+            }
+            return b -> Json.decodeValue((Buffer) b, targetType);
+        }
+        if (JsonObject.class.equals(bodyType)) {
+            if (String.class.equals(targetType)) {
+                return b -> ((JsonObject) b).encode();
+            } else if (Buffer.class.equals(targetType)) {
+                return b -> ((JsonObject) b).toBuffer();
+            }
+            return b -> ((JsonObject) b).mapTo(targetType);
+        }
+        if (JsonArray.class.equals(bodyType)) {
+            if (String.class.equals(targetType)) {
+                return b -> ((JsonArray) b).encode();
+            } else if (Buffer.class.equals(targetType)) {
+                return b -> ((JsonArray) b).toBuffer();
+            }
+        }
+        if (JsonObject.class.equals(targetType)) {
+            return JsonObject::mapFrom;
+        }
+        return b -> {
+            throw new IllegalArgumentException(String.format("Unable to convert a message body of type %s to %s", bodyType.getName(), targetType.getName()));
+        };
+    }
+
+}
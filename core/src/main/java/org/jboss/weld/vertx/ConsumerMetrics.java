@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.Map;
+
+/**
+ * Dispatch metrics of a message consumer registered for a specific address. Only the messages sent with a reply handler are replied. Failures are also
+ * recorded for the messages which do not expect a reply, e.g. the published ones.
+ *
+ * @author Martin Kouba
+ * @see DispatchMetrics
+ */
+public interface ConsumerMetrics {
+
+    /**
+     *
+     * @return the address
+     */
+    String getAddress();
+
+    /**
+     *
+     * @return the number of messages received
+     */
+    long getReceived();
+
+    /**
+     *
+     * @return the number of messages replied
+     */
+    long getReplied();
+
+    /**
+     *
+     * @return the number of messages failed
+     */
+    long getFailed();
+
+    /**
+     *
+     * @return the number of messages failed, by failure code
+     * @see VertxEvent#OBSERVER_FAILURE_CODE
+     * @see VertxEvent#DEADLINE_EXCEEDED_CODE
+     * @see VertxEvent#OVERLOADED_CODE
+     * @see RecipientFailure
+     */
+    Map<Integer, Long> getFailures();
+
+    /**
+     * A batch is recorded as a single value.
+     *
+     * @return the time messages spent waiting for a thread to notify the observer methods
+     */
+    LatencyHistogram getQueueWait();
+
+    /**
+     * Asynchronous observer methods are not included. A batch is recorded as a single value.
+     *
+     * @return the time spent notifying the synchronous observer methods
+     */
+    LatencyHistogram getExecutionTime();
+
+}
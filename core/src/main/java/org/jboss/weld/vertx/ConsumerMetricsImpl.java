@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.inject.Vetoed;
+
+/**
+ * All the counters are lock-free.
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+class ConsumerMetricsImpl implements ConsumerMetrics {
+
+    private final String address;
+
+    private final LongAdder received;
+
+    private final LongAdder replied;
+
+    private final ConcurrentMap<Integer, LongAdder> failures;
+
+    private final LatencyHistogramImpl queueWait;
+
+    private final LatencyHistogramImpl executionTime;
+
+    ConsumerMetricsImpl(String address) {
+        this.address = address;
+        this.received = new LongAdder();
+        this.replied = new LongAdder();
+        this.failures = new ConcurrentHashMap<>();
+        this.queueWait = new LatencyHistogramImpl();
+        this.executionTime = new LatencyHistogramImpl();
+    }
+
+    @Override
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public long getReceived() {
+        return received.sum();
+    }
+
+    @Override
+    public long getReplied() {
+        return replied.sum();
+    }
+
+    @Override
+    public long getFailed() {
+        long failed = 0;
+        for (LongAdder adder : failures.values()) {
+            failed += adder.sum();
+        }
+        return failed;
+    }
+
+    @Override
+    public Map<Integer, Long> getFailures() {
+        Map<Integer, Long> result = new HashMap<>();
+        failures.forEach((code, adder) -> result.put(code, adder.sum()));
+        return result;
+    }
+
+    @Override
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    @Override
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    void received() {
+        received.increment();
+    }
+
+    void replied() {
+        replied.increment();
+    }
+
+    void failed(int code) {
+        LongAdder adder = failures.get(code);
+        if (adder == null) {
+            adder = failures.computeIfAbsent(code, c -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    void queueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    void executionTime(long nanos) {
+        executionTime.record(nanos);
+    }
+
+}
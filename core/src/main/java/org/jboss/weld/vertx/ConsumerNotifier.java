@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.ObserverException;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.event.EventMetadataImpl;
+import org.jboss.weld.event.ObserverMethodImpl;
+import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.event.ResolvedObservers;
+import org.jboss.weld.injection.attributes.WeldInjectionPointAttributes;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Notifies the observer methods bound to a specific address.
+ * <p>
+ * The observer methods are resolved once, when the consumer is registered, and the event metadata are shared. Therefore, no resolution takes place when a
+ * message is delivered. If no {@link BeanManagerImpl} is available {@link Event#fire(Object)} is used instead.
+ * </p>
+ * <p>
+ * If possible, a direct {@link MethodHandle} invoker is built for each synchronous observer method, i.e. the bean instance and all the additional parameters
+ * are resolved once and the observer methods are invoked directly, in the order defined by {@link ObserverMethod#getPriority()}. An observer method is only
+ * eligible if:
+ * </p>
+ * <ul>
+ * <li>it's not a conditional or transactional observer method,</li>
+ * <li>it does not require {@link EventMetadata},</li>
+ * <li>it's static or declared on a bean with a normal scope (the client proxy is used) and it's neither private nor final,</li>
+ * <li>all the additional parameters resolve to beans with a normal scope.</li>
+ * </ul>
+ * <p>
+ * If any observer method bound to the address is not eligible, plain CDI event semantics is used for the address.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @param <E> the event type
+ */
+@Vetoed
+class ConsumerNotifier<E> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsumerNotifier.class.getName());
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final Event<E> event;
+
+    // Null if Event.fire() should be used
+    private final ObserverNotifier notifier;
+
+    private final ResolvedObservers<E> observers;
+
+    private final EventMetadata metadata;
+
+    // Null if the observer methods cannot be invoked directly
+    private final MethodHandle[] invokers;
+
+    static <E> ConsumerNotifier<E> of(Class<E> eventType, String address, Event<Object> event, BeanManagerImpl beanManager, boolean directInvocation) {
+        VertxConsumer qualifier = VertxConsumer.Literal.of(address);
+        if (beanManager == null) {
+            return new ConsumerNotifier<>(event.select(eventType, qualifier), null, null, null, null);
+        }
+        ObserverNotifier notifier = beanManager.getGlobalStrictObserverNotifier();
+        ResolvedObservers<E> observers = notifier.resolveObserverMethods(eventType, qualifier);
+        return new ConsumerNotifier<>(event.select(eventType, qualifier), notifier, observers,
+                new EventMetadataImpl(eventType, null, new Annotation[] { Any.Literal.INSTANCE, qualifier }),
+                directInvocation ? createInvokers(address, observers, beanManager) : null);
+    }
+
+    private ConsumerNotifier(Event<E> event, ObserverNotifier notifier, ResolvedObservers<E> observers, EventMetadata metadata, MethodHandle[] invokers) {
+        this.event = event;
+        this.notifier = notifier;
+        this.observers = observers;
+        this.metadata = metadata;
+        this.invokers = invokers;
+    }
+
+    /**
+     * Synchronously notify all the observer methods.
+     *
+     * @param payload
+     */
+    void fire(E payload) {
+        if (invokers != null) {
+            for (MethodHandle invoker : invokers) {
+                invoke(invoker, payload);
+            }
+        } else if (notifier != null) {
+            notifier.notify(observers, payload, metadata);
+        } else {
+            event.fire(payload);
+        }
+    }
+
+    /**
+     * Asynchronously notify all the asynchronous observer methods.
+     *
+     * @param payload
+     * @return the completion stage
+     */
+    <T extends E> CompletionStage<T> fireAsync(T payload) {
+        return event.fireAsync(payload);
+    }
+
+    private void invoke(MethodHandle invoker, E payload) {
+        try {
+            invoker.invokeExact((Object) payload);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // Checked exceptions are wrapped - the same way Weld does
+            throw new ObserverException(e);
+        }
+    }
+
+    private static <E> MethodHandle[] createInvokers(String address, ResolvedObservers<E> observers, BeanManagerImpl beanManager) {
+        // The resolved observer methods are already sorted by priority
+        List<MethodHandle> invokers = new ArrayList<>();
+        for (ObserverMethod<? super E> observerMethod : observers.getAllObservers()) {
+            if (observerMethod.isAsync()) {
+                // Asynchronous observers are notified via Event.fireAsync()
+                continue;
+            }
+            MethodHandle invoker = createInvoker(observerMethod, beanManager);
+            if (invoker == null) {
+                LOGGER.debug("Observer methods for {0} cannot be invoked directly - CDI event semantics is used: {1}", address, observerMethod);
+                return null;
+            }
+            invokers.add(invoker);
+        }
+        LOGGER.debug("Observer methods for {0} are invoked directly [observers: {1}]", address, invokers.size());
+        return invokers.toArray(new MethodHandle[invokers.size()]);
+    }
+
+    private static MethodHandle createInvoker(ObserverMethod<?> observerMethod, BeanManagerImpl beanManager) {
+        if (!(observerMethod instanceof ObserverMethodImpl)) {
+            // Synthetic observer
+            return null;
+        }
+        ObserverMethodImpl<?, ?> observer = (ObserverMethodImpl<?, ?>) observerMethod;
+        if (!Reception.ALWAYS.equals(observer.getReception()) || !TransactionPhase.IN_PROGRESS.equals(observer.getTransactionPhase())
+                || observer.isEventMetadataRequired()) {
+            return null;
+        }
+        Method method = observer.getMethod().getAnnotated().getJavaMember();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        Object receiver = null;
+        if (!isStatic) {
+            Bean<?> declaringBean = observer.getDeclaringBean();
+            // The client proxy must delegate the invocation to the contextual instance
+            if (!beanManager.isNormalScope(declaringBean.getScope()) || Modifier.isPrivate(method.getModifiers())
+                    || Modifier.isFinal(method.getModifiers())) {
+                return null;
+            }
+            receiver = beanManager.getReference(declaringBean, declaringBean.getBeanClass(), beanManager.createCreationalContext(declaringBean));
+        }
+        Object[] arguments = new Object[method.getParameterCount()];
+        for (WeldInjectionPointAttributes<?, ?> injectionPoint : observer.getInjectionPoints()) {
+            if (!(injectionPoint.getAnnotated() instanceof AnnotatedParameter)) {
+                return null;
+            }
+            Bean<?> bean = beanManager.resolve(beanManager.getBeans(injectionPoint));
+            if (bean == null || !beanManager.isNormalScope(bean.getScope())) {
+                // E.g. @Dependent parameters must be destroyed after the notification
+                return null;
+            }
+            arguments[((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition()] = beanManager.getReference(bean, injectionPoint.getType(),
+                    beanManager.createCreationalContext(bean));
+        }
+        try {
+            method.setAccessible(true);
+            MethodHandle invoker = MethodHandles.lookup().unreflect(method);
+            if (!isStatic) {
+                invoker = invoker.bindTo(receiver);
+            }
+            // Bind all the parameters except the event parameter
+            for (int i = arguments.length - 1; i >= 0; i--) {
+                if (arguments[i] != null) {
+                    invoker = MethodHandles.insertArguments(invoker, i, arguments[i]);
+                }
+            }
+            if (invoker.type().parameterCount() != 1) {
+                return null;
+            }
+            return invoker.asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug("Unable to create a direct invoker for {0}", e, observerMethod);
+            return null;
+        }
+    }
+
+}
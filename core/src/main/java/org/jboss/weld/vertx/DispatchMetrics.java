@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.Collection;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Provides access to the dispatch metrics of all the message consumers registered by {@link VertxExtension}. An {@link javax.enterprise.context.ApplicationScoped}
+ * bean with this type is registered automatically.
+ *
+ * <pre>
+ * &#64;Inject
+ * DispatchMetrics metrics;
+ *
+ * long p99 = metrics.getConsumer("my.address").getExecutionTime().getValueAtPercentile(99.0);
+ * </pre>
+ *
+ * @author Martin Kouba
+ * @see ConsumerMetrics
+ */
+public interface DispatchMetrics {
+
+    /**
+     *
+     * @return the metrics of all the consumers
+     */
+    Collection<ConsumerMetrics> getConsumers();
+
+    /**
+     *
+     * @param address
+     * @return the metrics of the consumer registered for the given address, or <code>null</code> if no such consumer exists
+     */
+    ConsumerMetrics getConsumer(String address);
+
+    /**
+     * The time from the creation of an {@link AsyncReference} until the reference is obtained (or the resolution fails). The histogram is not included in the
+     * {@link #getSnapshot()}.
+     *
+     * @return the resolution time of all {@link AsyncReference}s
+     */
+    LatencyHistogram getAsyncReferenceResolution();
+
+    /**
+     * The snapshot contains an object for each address. The durations are in nanoseconds.
+     *
+     * <pre>
+     * {
+     *   "my.address": {
+     *     "received": 10,
+     *     "replied": 9,
+     *     "failed": 1,
+     *     "failures": { "6912": 1 },
+     *     "queueWait": { "count": 10, "mean": 1500, "max": 8000, "p50": 2047, "p99": 8000 },
+     *     "executionTime": { ... }
+     *   }
+     * }
+     * </pre>
+     *
+     * @return a snapshot of all the metrics
+     */
+    JsonObject getSnapshot();
+
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+class DispatchMetricsImpl implements DispatchMetrics {
+
+    private final ConcurrentMap<String, ConsumerMetricsImpl> consumers;
+
+    private final LatencyHistogramImpl asyncReferenceResolution;
+
+    DispatchMetricsImpl() {
+        this.consumers = new ConcurrentHashMap<>();
+        this.asyncReferenceResolution = new LatencyHistogramImpl();
+    }
+
+    @Override
+    public Collection<ConsumerMetrics> getConsumers() {
+        return Collections.unmodifiableCollection(consumers.values());
+    }
+
+    @Override
+    public ConsumerMetrics getConsumer(String address) {
+        return consumers.get(address);
+    }
+
+    @Override
+    public LatencyHistogram getAsyncReferenceResolution() {
+        return asyncReferenceResolution;
+    }
+
+    @Override
+    public JsonObject getSnapshot() {
+        JsonObject snapshot = new JsonObject();
+        for (ConsumerMetrics metrics : consumers.values()) {
+            JsonObject failures = new JsonObject();
+            metrics.getFailures().forEach((code, count) -> failures.put(code.toString(), count));
+            snapshot.put(metrics.getAddress(),
+                    new JsonObject().put("received", metrics.getReceived()).put("replied", metrics.getReplied()).put("failed", metrics.getFailed())
+                            .put("failures", failures).put("queueWait", toJson(metrics.getQueueWait()))
+                            .put("executionTime", toJson(metrics.getExecutionTime())));
+        }
+        return snapshot;
+    }
+
+    ConsumerMetricsImpl getOrCreate(String address) {
+        return consumers.computeIfAbsent(address, ConsumerMetricsImpl::new);
+    }
+
+    void asyncReferenceResolution(long nanos) {
+        asyncReferenceResolution.record(nanos);
+    }
+
+    private JsonObject toJson(LatencyHistogram histogram) {
+        return new JsonObject().put("count", histogram.getCount()).put("mean", histogram.getMean()).put("max", histogram.getMax())
+                .put("p50", histogram.getValueAtPercentile(50.0)).put("p99", histogram.getValueAtPercentile(99.0));
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * An {@link javax.enterprise.context.ApplicationScoped} bean annotated with {@link Eager} (a managed bean, a producer method or a producer field) is
+ * initialized when {@link WeldVerticle} is started, i.e. the verticle is not started until all the eager beans are initialized. The beans are initialized in
+ * parallel using worker threads. If an eager bean depends (directly or transitively) on another eager bean, the dependency is initialized first.
+ * <p>
+ * Eager beans can be also specified using the {@link VertxExtension#EAGER_BEANS_KEY} configuration key. This annotation is ignored if {@link VertxExtension}
+ * is not used by {@link WeldVerticle}.
+ * </p>
+ *
+ * <pre>
+ * &#64;Eager
+ * &#64;ApplicationScoped
+ * class ProductCache {
+ *
+ *     &#64;PostConstruct
+ *     void init() {
+ *         // Load data from DB
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Martin Kouba
+ * @see VertxExtension#EAGER_BEANS_KEY
+ */
+@Target({ TYPE, METHOD, FIELD })
+@Retention(RUNTIME)
+public @interface Eager {
+
+}
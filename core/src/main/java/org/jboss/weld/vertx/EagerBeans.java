@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Initializes the {@link Eager} beans in layers - the beans from the same layer are initialized in parallel, a layer is only initialized after all the
+ * previous layers. A bean is placed in a layer after all the eager beans it depends on.
+ *
+ * @author Martin Kouba
+ * @see Eager
+ */
+@Vetoed
+final class EagerBeans {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EagerBeans.class.getName());
+
+    private EagerBeans() {
+    }
+
+    /**
+     *
+     * @param vertx
+     * @param beanManager
+     * @param beans
+     * @return a future completed when all the beans are initialized, or failed if an initialization fails
+     */
+    static Future<Void> initialize(Vertx vertx, BeanManager beanManager, Collection<Bean<?>> beans) {
+        List<List<Bean<?>>> layers = getLayers(beanManager, beans);
+        LOGGER.debug("Initializing {0} eager beans in {1} layers", beans.size(), layers.size());
+        Future<Void> result = Future.future();
+        initialize(vertx, beanManager, layers, 0, result);
+        return result;
+    }
+
+    static List<List<Bean<?>>> getLayers(BeanManager beanManager, Collection<Bean<?>> beans) {
+        Set<Bean<?>> eagerBeans = new HashSet<>(beans);
+        Map<Bean<?>, Integer> layerIndexes = new HashMap<>();
+        List<List<Bean<?>>> layers = new ArrayList<>();
+        for (Bean<?> bean : beans) {
+            int index = getLayerIndex(bean, beanManager, eagerBeans, layerIndexes);
+            while (layers.size() <= index) {
+                layers.add(new ArrayList<>());
+            }
+            if (!layers.get(index).contains(bean)) {
+                layers.get(index).add(bean);
+            }
+        }
+        return layers;
+    }
+
+    private static void initialize(Vertx vertx, BeanManager beanManager, List<List<Bean<?>>> layers, int index, Future<Void> result) {
+        if (index == layers.size()) {
+            result.complete();
+            return;
+        }
+        @SuppressWarnings("rawtypes")
+        List<Future> initializations = new ArrayList<>();
+        for (Bean<?> bean : layers.get(index)) {
+            Future<Void> initialization = Future.future();
+            vertx.<Void> executeBlocking(f -> {
+                initialize(beanManager, bean);
+                f.complete();
+            }, false, initialization);
+            initializations.add(initialization);
+        }
+        CompositeFuture.all(initializations).setHandler(r -> {
+            if (r.succeeded()) {
+                initialize(vertx, beanManager, layers, index + 1, result);
+            } else {
+                result.fail(r.cause());
+            }
+        });
+    }
+
+    private static void initialize(BeanManager beanManager, Bean<?> bean) {
+        // Object is always a bean type
+        Object reference = beanManager.getReference(bean, Object.class, beanManager.createCreationalContext(bean));
+        if (reference instanceof TargetInstanceProxy) {
+            // Force the client proxy to create the contextual instance
+            ((TargetInstanceProxy<?>) reference).getTargetInstance();
+        }
+        LOGGER.debug("Eager bean initialized: {0}", bean);
+    }
+
+    private static int getLayerIndex(Bean<?> bean, BeanManager beanManager, Set<Bean<?>> eagerBeans, Map<Bean<?>, Integer> layerIndexes) {
+        Integer index = layerIndexes.get(bean);
+        if (index != null) {
+            // A negative value means the bean is being processed, i.e. there is a dependency cycle which is ignored
+            return index < 0 ? -1 : index;
+        }
+        layerIndexes.put(bean, -1);
+        int layerIndex = 0;
+        for (Bean<?> dependency : getEagerDependencies(bean, beanManager, eagerBeans)) {
+            layerIndex = Math.max(layerIndex, getLayerIndex(dependency, beanManager, eagerBeans, layerIndexes) + 1);
+        }
+        layerIndexes.put(bean, layerIndex);
+        return layerIndex;
+    }
+
+    private static Set<Bean<?>> getEagerDependencies(Bean<?> bean, BeanManager beanManager, Set<Bean<?>> eagerBeans) {
+        // Eager beans reachable via injection points, possibly through other beans
+        Set<Bean<?>> dependencies = new HashSet<>();
+        Set<Bean<?>> visited = new HashSet<>();
+        Deque<Bean<?>> queue = new ArrayDeque<>();
+        visited.add(bean);
+        queue.add(bean);
+        while (!queue.isEmpty()) {
+            for (InjectionPoint injectionPoint : queue.poll().getInjectionPoints()) {
+                Bean<?> resolved = resolve(beanManager, injectionPoint);
+                if (resolved == null || !visited.add(resolved)) {
+                    continue;
+                }
+                if (eagerBeans.contains(resolved)) {
+                    dependencies.add(resolved);
+                } else {
+                    queue.add(resolved);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private static Bean<?> resolve(BeanManager beanManager, InjectionPoint injectionPoint) {
+        if (injectionPoint.isDelegate()) {
+            return null;
+        }
+        try {
+            return beanManager.resolve(beanManager.getBeans(injectionPoint.getType(), injectionPoint.getQualifiers().toArray(new Annotation[] {})));
+        } catch (RuntimeException e) {
+            // E.g. a type variable or an ambiguous dependency - ignore
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+/**
+ * A histogram of durations with power-of-two buckets, i.e. the values are approximate. The values are in nanoseconds.
+ *
+ * @author Martin Kouba
+ * @see ConsumerMetrics
+ */
+public interface LatencyHistogram {
+
+    /**
+     *
+     * @return the number of recorded values
+     */
+    long getCount();
+
+    /**
+     *
+     * @return the sum of all recorded values
+     */
+    long getSum();
+
+    /**
+     *
+     * @return the max recorded value
+     */
+    long getMax();
+
+    /**
+     *
+     * @return the mean of all recorded values, or <code>0</code> if no value was recorded
+     */
+    default long getMean() {
+        long count = getCount();
+        return count > 0 ? getSum() / count : 0;
+    }
+
+    /**
+     * The returned value is the upper bound of the bucket the percentile falls in, i.e. it may be up to twice as large as the actual value.
+     *
+     * @param percentile the percentile, e.g. <code>99.0</code>
+     * @return the approximate value at the given percentile, or <code>0</code> if no value was recorded
+     */
+    long getValueAtPercentile(double percentile);
+
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.inject.Vetoed;
+
+/**
+ * Lock-free, the recording does not allocate. The buckets are striped so that concurrent recorders do not contend on a single counter.
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+class LatencyHistogramImpl implements LatencyHistogram {
+
+    // Bucket 0 contains zero values, bucket i contains values from 2^(i-1) to 2^i - 1
+    private final LongAdder[] buckets;
+
+    private final LongAdder sum;
+
+    private final LongAccumulator max;
+
+    LatencyHistogramImpl() {
+        this.buckets = new LongAdder[Long.SIZE];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            // System.nanoTime() is not guaranteed to be monotonic on all platforms
+            nanos = 0;
+        }
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            count += buckets[i].sum();
+        }
+        return count;
+    }
+
+    @Override
+    public long getSum() {
+        return sum.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            if (cumulative >= target) {
+                return Math.min(i == 0 ? 0 : (i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1), getMax());
+            }
+        }
+        return getMax();
+    }
+
+}
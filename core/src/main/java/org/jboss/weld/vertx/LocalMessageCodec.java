@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * A message codec which passes the objects by reference when delivered locally, i.e. there is no serialization involved. Therefore, the objects should be
+ * immutable or at least not modified after sent. A subclass may override {@link #transform(Object)} to create an immutable copy instead.
+ * <p>
+ * If a message is sent to a remote node, Java serialization is used by default. A subclass may override {@link #encodeToWire(Buffer, Object)} and
+ * {@link #decodeFromWire(int, Buffer)} to use a more compact binary form.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @param <T> the type of the message
+ * @see VertxCodec
+ */
+public abstract class LocalMessageCodec<T> implements MessageCodec<T, T> {
+
+    @Override
+    public void encodeToWire(Buffer buffer, T object) {
+        if (!(object instanceof Serializable)) {
+            throw new IllegalStateException(String.format("%s is not serializable and cannot be sent to a remote node: %s", object.getClass().getName(), name()));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode " + object, e);
+        }
+        buffer.appendInt(bytes.size());
+        buffer.appendBytes(bytes.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T decodeFromWire(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.getBytes(pos, pos + length)))) {
+            return (T) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to decode a message: " + name(), e);
+        }
+    }
+
+    @Override
+    public T transform(T object) {
+        // Pass by reference
+        return object;
+    }
+
+    @Override
+    public String name() {
+        return getClass().getName();
+    }
+
+    @Override
+    public byte systemCodecID() {
+        // User codec
+        return -1;
+    }
+
+}
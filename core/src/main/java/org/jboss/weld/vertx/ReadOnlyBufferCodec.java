@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Unlike the built-in codec for {@link Buffer}, this codec does not copy the buffer when delivered locally. Instead, the consumer receives a read-only view
+ * which shares the memory with the buffer that was sent. Therefore, the sender must not modify the buffer after sent. An attempt to modify the received
+ * buffer results in {@link java.nio.ReadOnlyBufferException}.
+ * <p>
+ * The codec is registered automatically if a {@link io.vertx.core.Vertx} instance is available. It's opt-in, i.e. the sender must specify the codec name
+ * explicitly:
+ * </p>
+ *
+ * <pre>
+ * vertx.eventBus().send("my.address", buffer, new DeliveryOptions().setCodecName(ReadOnlyBufferCodec.NAME));
+ * </pre>
+ *
+ * @author Martin Kouba
+ * @see VertxEvent.VertxMessage#setZeroCopy(boolean)
+ * @see VertxEvent#getMessageBodySlice()
+ */
+public class ReadOnlyBufferCodec implements MessageCodec<Buffer, Buffer> {
+
+    public static final String NAME = "weld.vertx.buffer.readonly";
+
+    @Override
+    public void encodeToWire(Buffer buffer, Buffer b) {
+        buffer.appendInt(b.length());
+        buffer.appendBuffer(b);
+    }
+
+    @Override
+    public Buffer decodeFromWire(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        return buffer.getBuffer(pos, pos + length);
+    }
+
+    @Override
+    public Buffer transform(Buffer b) {
+        // Share the content, no copy
+        return Buffer.buffer(b.getByteBuf().asReadOnly());
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        // User codec
+        return -1;
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * All the state except for the handlers and the paused flag is only accessed from the context the stream was started on.
+ * <p>
+ * The send timeout of the request (see {@link DeliveryOptions#getSendTimeout()}) is also used by the producer to wait for the acknowledgement of an item
+ * and as the max idle time of the producer. If nothing is received from the producer within the timeout, or if the stream is paused and an item is not
+ * delivered (and acknowledged) within the timeout, the stream fails with {@link ReplyFailure#TIMEOUT} and the temporary consumer is unregistered.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @see ReplyStreamImpl
+ */
+@Vetoed
+class ReplyReadStream implements ReadStream<Object> {
+
+    private static final String STREAM_ADDRESS_PREFIX = "weld.vertx.reply.stream.";
+
+    private final Vertx vertx;
+
+    private final String address;
+
+    private final Object body;
+
+    private final DeliveryOptions options;
+
+    private final String streamAddress;
+
+    // Items received but not delivered yet, e.g. if paused
+    private final Deque<Message<Object>> pending;
+
+    private volatile Handler<Object> handler;
+
+    private volatile Handler<Void> endHandler;
+
+    private volatile Handler<Throwable> exceptionHandler;
+
+    private volatile boolean paused;
+
+    private volatile Context context;
+
+    private MessageConsumer<Object> consumer;
+
+    private final long idleTimeout;
+
+    // System.nanoTime() of the last message received from the producer
+    private long lastActivity;
+
+    // System.nanoTime() since the first pending item is waiting to be delivered
+    private long pendingSince;
+
+    // The producer uses a reply stream, i.e. the pending items are waiting for an acknowledgement
+    private boolean streaming;
+
+    private long idleTimerId;
+
+    private boolean ended;
+
+    private boolean closed;
+
+    ReplyReadStream(Vertx vertx, String address, Object body, DeliveryOptions options) {
+        this.vertx = vertx;
+        this.address = address;
+        this.body = body;
+        this.options = options;
+        this.streamAddress = STREAM_ADDRESS_PREFIX + UUID.randomUUID().toString();
+        this.pending = new ArrayDeque<>();
+        this.idleTimeout = options.getSendTimeout();
+        this.idleTimerId = -1;
+    }
+
+    @Override
+    public ReadStream<Object> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public synchronized ReadStream<Object> handler(Handler<Object> handler) {
+        this.handler = handler;
+        if (handler != null && context == null) {
+            // The first handler set - send the request
+            context = vertx.getOrCreateContext();
+            context.runOnContext(v -> start());
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Object> pause() {
+        paused = true;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Object> resume() {
+        if (paused) {
+            paused = false;
+            if (context != null) {
+                context.runOnContext(v -> drain());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Object> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    private void start() {
+        lastActivity = System.nanoTime();
+        scheduleIdleCheck(idleTimeout);
+        consumer = vertx.eventBus().consumer(streamAddress, this::handleItem);
+        consumer.completionHandler(registered -> {
+            if (registered.failed()) {
+                fail(registered.cause());
+                return;
+            }
+            DeliveryOptions requestOptions = VertxMessageImpl.copy(options).addHeader(ReplyStreams.STREAM_ADDRESS_HEADER, streamAddress)
+                    .addHeader(ReplyStreams.STREAM_TIMEOUT_HEADER, Long.toString(idleTimeout));
+            vertx.eventBus().send(address, body, requestOptions, this::handleReply);
+        });
+    }
+
+    private void handleReply(AsyncResult<Message<Object>> reply) {
+        lastActivity = System.nanoTime();
+        if (reply.failed()) {
+            fail(reply.cause());
+        } else if (reply.result().headers().contains(ReplyStreams.STREAM_STARTED_HEADER)) {
+            streaming = true;
+        } else {
+            // A regular reply - deliver a single item
+            pending.add(reply.result());
+            ended = true;
+            drain();
+        }
+    }
+
+    private void handleItem(Message<Object> message) {
+        lastActivity = System.nanoTime();
+        String failureCode = message.headers().get(ReplyStreams.STREAM_FAILURE_HEADER);
+        if (failureCode != null) {
+            fail(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, Integer.parseInt(failureCode), (String) message.body()));
+            return;
+        }
+        if (message.headers().contains(ReplyStreams.STREAM_END_HEADER)) {
+            ended = true;
+        } else {
+            if (pending.isEmpty()) {
+                pendingSince = lastActivity;
+            }
+            pending.add(message);
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (!paused && !closed && !pending.isEmpty()) {
+            Message<Object> item = pending.poll();
+            Handler<Object> handler = this.handler;
+            if (handler != null) {
+                handler.handle(item.body());
+            }
+            // Acknowledge the item
+            item.reply(null);
+            pendingSince = System.nanoTime();
+        }
+        if (ended && !closed && pending.isEmpty()) {
+            close();
+            Handler<Void> endHandler = this.endHandler;
+            if (endHandler != null) {
+                endHandler.handle(null);
+            }
+        }
+    }
+
+    private void fail(Throwable failure) {
+        if (closed) {
+            return;
+        }
+        close();
+        Handler<Throwable> exceptionHandler = this.exceptionHandler;
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(failure);
+        }
+    }
+
+    private void scheduleIdleCheck(long delay) {
+        idleTimerId = vertx.setTimer(Math.max(1, delay), id -> {
+            idleTimerId = -1;
+            if (closed) {
+                return;
+            }
+            long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+            if (!pending.isEmpty()) {
+                // Paused by the consumer - the producer is waiting for the acknowledgements, i.e. it's not idle
+                long waiting = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingSince);
+                if (streaming && waiting >= idleTimeout) {
+                    // The producer does not wait for an acknowledgement any longer
+                    fail(new ReplyException(ReplyFailure.TIMEOUT, "Reply stream item not delivered within " + idleTimeout + " ms: " + address));
+                } else {
+                    lastActivity = System.nanoTime();
+                    scheduleIdleCheck(streaming ? idleTimeout - waiting : idleTimeout);
+                }
+            } else if (idle >= idleTimeout) {
+                fail(new ReplyException(ReplyFailure.TIMEOUT, "No reply stream item received within " + idleTimeout + " ms: " + address));
+            } else {
+                scheduleIdleCheck(idleTimeout - idle);
+            }
+        });
+    }
+
+    private void close() {
+        closed = true;
+        if (idleTimerId != -1) {
+            vertx.cancelTimer(idleTimerId);
+            idleTimerId = -1;
+        }
+        pending.clear();
+        if (consumer != null) {
+            consumer.unregister();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import io.vertx.core.Handler;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * A streamed reply to a message. Each item written to the stream is sent to a temporary address of the sender and must be acknowledged by the sender. The
+ * write queue is full if the number of unacknowledged items reaches {@link #setWriteQueueMaxSize(int)}.
+ * <p>
+ * {@link #end()} must be called once all the items are written, or {@link #fail(int, String)} if the reply cannot be completed.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @see VertxEvent#replyStream()
+ * @see ReplyStreams#request(io.vertx.core.Vertx, String, Object)
+ */
+public interface ReplyStream extends WriteStream<Object> {
+
+    int DEFAULT_WRITE_QUEUE_MAX_SIZE = 16;
+
+    @Override
+    ReplyStream exceptionHandler(Handler<Throwable> handler);
+
+    @Override
+    ReplyStream write(Object data);
+
+    @Override
+    ReplyStream setWriteQueueMaxSize(int maxSize);
+
+    /**
+     * The items are acknowledged asynchronously, i.e. the write queue may drain before the handler is set. In that case the handler is invoked immediately.
+     *
+     * @param handler
+     * @return self
+     */
+    @Override
+    ReplyStream drainHandler(Handler<Void> handler);
+
+    /**
+     * End the stream with a failure. The sender receives a {@link io.vertx.core.eventbus.ReplyException} with
+     * {@link io.vertx.core.eventbus.ReplyFailure#RECIPIENT_FAILURE}.
+     *
+     * @param code
+     * @param message
+     */
+    void fail(int code, String message);
+
+}
@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+
+/**
+ * The send timeout of the request is used both to acknowledge the items and as the max idle time of the stream, i.e. if no item is written and no item is
+ * waiting for an acknowledgement within the timeout, the stream is failed so that the message is not processed forever.
+ *
+ * @author Martin Kouba
+ * @see ReplyReadStream
+ */
+@Vetoed
+class ReplyStreamImpl implements ReplyStream {
+
+    private final EventBus eventBus;
+
+    private final String address;
+
+    private final long timeout;
+
+    private final DeliveryOptions itemOptions;
+
+    private int maxSize;
+
+    // The number of items not acknowledged yet
+    private int pending;
+
+    private boolean ended;
+
+    private boolean failed;
+
+    private Handler<Void> drainHandler;
+
+    private Handler<Throwable> exceptionHandler;
+
+    // Invoked once the stream is ended, failed or the sender is gone
+    private Handler<Void> completionHandler;
+
+    // System.nanoTime() of the last item written or acknowledged
+    private long lastActivity;
+
+    private Vertx vertx;
+
+    private long idleTimerId;
+
+    ReplyStreamImpl(EventBus eventBus, String address, long timeout) {
+        this.eventBus = eventBus;
+        this.address = address;
+        this.timeout = timeout;
+        this.itemOptions = new DeliveryOptions().setSendTimeout(timeout);
+        this.maxSize = DEFAULT_WRITE_QUEUE_MAX_SIZE;
+        this.lastActivity = System.nanoTime();
+        this.idleTimerId = -1;
+    }
+
+    @Override
+    public synchronized ReplyStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ReplyStream write(Object data) {
+        synchronized (this) {
+            checkNotEnded();
+            if (failed) {
+                // The sender is gone - ignore
+                return this;
+            }
+            pending++;
+            lastActivity = System.nanoTime();
+        }
+        eventBus.send(address, data, itemOptions, this::handleAck);
+        return this;
+    }
+
+    @Override
+    public void end() {
+        synchronized (this) {
+            checkNotEnded();
+            ended = true;
+            if (failed) {
+                return;
+            }
+        }
+        eventBus.send(address, null, new DeliveryOptions().addHeader(ReplyStreams.STREAM_END_HEADER, Boolean.TRUE.toString()));
+        completed();
+    }
+
+    @Override
+    public void fail(int code, String message) {
+        synchronized (this) {
+            if (ended || failed) {
+                return;
+            }
+            ended = true;
+        }
+        eventBus.send(address, message, new DeliveryOptions().addHeader(ReplyStreams.STREAM_FAILURE_HEADER, Integer.toString(code)));
+        completed();
+    }
+
+    @Override
+    public synchronized ReplyStream setWriteQueueMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @Override
+    public synchronized boolean writeQueueFull() {
+        return pending >= maxSize;
+    }
+
+    @Override
+    public ReplyStream drainHandler(Handler<Void> handler) {
+        synchronized (this) {
+            if (handler == null || failed || pending > maxSize / 2) {
+                this.drainHandler = handler;
+                return this;
+            }
+        }
+        // The pending items were acknowledged after the write queue was found full
+        handler.handle(null);
+        return this;
+    }
+
+    /**
+     * The handler is invoked immediately if the stream is already completed.
+     *
+     * @param handler
+     */
+    void completionHandler(Handler<Void> handler) {
+        synchronized (this) {
+            if (!ended && !failed) {
+                this.completionHandler = handler;
+                return;
+            }
+        }
+        handler.handle(null);
+    }
+
+    /**
+     * Fail the stream if it's idle for longer than the timeout.
+     *
+     * @param vertx
+     */
+    synchronized void startIdleCheck(Vertx vertx) {
+        if (ended || failed) {
+            return;
+        }
+        this.vertx = vertx;
+        scheduleIdleCheck(timeout);
+    }
+
+    void fail(Throwable failure) {
+        if (failure instanceof RecipientFailure) {
+            fail(((RecipientFailure) failure).code, failure.getMessage());
+        } else {
+            fail(VertxEvent.OBSERVER_FAILURE_CODE, failure.getMessage());
+        }
+    }
+
+    private void handleAck(AsyncResult<Message<Object>> result) {
+        Handler<Void> drain = null;
+        Handler<Throwable> exception = null;
+        synchronized (this) {
+            pending--;
+            lastActivity = System.nanoTime();
+            if (result.failed()) {
+                if (!failed) {
+                    failed = true;
+                    exception = exceptionHandler;
+                }
+            } else if (drainHandler != null && pending <= maxSize / 2) {
+                drain = drainHandler;
+                drainHandler = null;
+            }
+        }
+        // Do not invoke the handlers while holding the lock
+        if (exception != null) {
+            exception.handle(result.cause());
+        } else if (drain != null) {
+            drain.handle(null);
+        }
+        if (result.failed()) {
+            completed();
+        }
+    }
+
+    private synchronized void scheduleIdleCheck(long delay) {
+        idleTimerId = vertx.setTimer(Math.max(1, delay), id -> {
+            Handler<Throwable> exception;
+            String message;
+            synchronized (this) {
+                idleTimerId = -1;
+                if (ended || failed) {
+                    return;
+                }
+                long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+                if (pending > 0) {
+                    // The unacknowledged items time out on their own
+                    scheduleIdleCheck(timeout);
+                    return;
+                } else if (idle < timeout) {
+                    scheduleIdleCheck(timeout - idle);
+                    return;
+                }
+                // Subsequent writes are ignored
+                failed = true;
+                exception = exceptionHandler;
+                message = "No reply stream item written within " + timeout + " ms: " + address;
+            }
+            eventBus.send(address, message, new DeliveryOptions().addHeader(ReplyStreams.STREAM_FAILURE_HEADER, Integer.toString(VertxEvent.OBSERVER_FAILURE_CODE)));
+            if (exception != null) {
+                exception.handle(new ReplyException(ReplyFailure.TIMEOUT, message));
+            }
+            completed();
+        });
+    }
+
+    private void completed() {
+        Handler<Void> completion;
+        synchronized (this) {
+            completion = completionHandler;
+            completionHandler = null;
+            if (idleTimerId != -1) {
+                vertx.cancelTimer(idleTimerId);
+                idleTimerId = -1;
+            }
+        }
+        if (completion != null) {
+            completion.handle(null);
+        }
+    }
+
+    private void checkNotEnded() {
+        if (ended) {
+            throw new IllegalStateException("Reply stream already ended: " + address);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Allows to send a message and consume a streamed reply. If the observer method does not use {@link VertxEvent#replyStream()}, a regular reply is
+ * delivered as a single item.
+ *
+ * <pre>
+ * ReplyStreams.request(vertx, "export.address", query).exceptionHandler(t -&gt; log(t)).endHandler(v -&gt; done()).handler(item -&gt; write(item));
+ * </pre>
+ *
+ * <p>
+ * The request is sent once a handler is set, i.e. the end handler and the exception handler should be set before the item handler.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @see ReplyStream
+ */
+public final class ReplyStreams {
+
+    /**
+     * The header containing the temporary address items are sent to.
+     */
+    public static final String STREAM_ADDRESS_HEADER = "weld-vertx-reply-stream";
+
+    // The send timeout of the request, used by the producer to acknowledge the items and to detect an idle stream
+    static final String STREAM_TIMEOUT_HEADER = "weld-vertx-reply-stream-timeout";
+
+    static final String STREAM_STARTED_HEADER = "weld-vertx-reply-stream-started";
+
+    static final String STREAM_END_HEADER = "weld-vertx-reply-stream-end";
+
+    static final String STREAM_FAILURE_HEADER = "weld-vertx-reply-stream-failure";
+
+    private ReplyStreams() {
+    }
+
+    /**
+     *
+     * @param vertx
+     * @param address
+     * @param body
+     * @return the stream of reply items
+     */
+    public static ReadStream<Object> request(Vertx vertx, String address, Object body) {
+        return request(vertx, address, body, new DeliveryOptions());
+    }
+
+    /**
+     *
+     * @param vertx
+     * @param address
+     * @param body
+     * @param options
+     * @return the stream of reply items
+     */
+    public static ReadStream<Object> request(Vertx vertx, String address, Object body, DeliveryOptions options) {
+        return new ReplyReadStream(vertx, address, body, options);
+    }
+
+}
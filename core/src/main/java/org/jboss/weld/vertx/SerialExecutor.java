@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javax.enterprise.inject.Vetoed;
+
+/**
+ * Executes the submitted tasks one at a time, in the order they were submitted, using the underlying executor.
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+class SerialExecutor implements Executor {
+
+    private final Executor executor;
+
+    // Guarded by this
+    private final Queue<Runnable> tasks;
+
+    // Guarded by this
+    private Runnable active;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+        this.tasks = new ArrayDeque<>();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executeAsync(done -> {
+            try {
+                task.run();
+            } finally {
+                done.run();
+            }
+        });
+    }
+
+    /**
+     * The next task is not executed until the given task invokes the supplied completion callback, i.e. the task may complete asynchronously. Subsequent
+     * invocations of the callback are ignored. If the task throws an exception the callback is invoked immediately.
+     *
+     * @param task
+     */
+    synchronized void executeAsync(Consumer<Runnable> task) {
+        tasks.add(() -> {
+            AtomicBoolean completed = new AtomicBoolean();
+            Runnable done = () -> {
+                if (completed.compareAndSet(false, true)) {
+                    scheduleNext();
+                }
+            };
+            try {
+                task.accept(done);
+            } catch (Throwable e) {
+                done.run();
+                throw e;
+            }
+        });
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        if ((active = tasks.poll()) != null) {
+            executor.execute(active);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.List;
+
+import org.jboss.weld.vertx.VertxEvent.VertxMessage;
+
+/**
+ * A batch of Vertx messages sent to the same address.
+ * <p>
+ * An observer method must declare an event parameter of the type {@link VertxBatchEvent} with {@link VertxConsumer} qualifier in order to be notified. Messages
+ * are collected until {@link VertxConsumer#batchSize()} messages are received or {@link VertxConsumer#batchTimeout()} elapses, whichever comes first. Then all
+ * the observer methods are notified at once.
+ * </p>
+ * <p>
+ * Each message of the batch is replied individually - an observer method may set the reply via {@link VertxEvent#setReply(Object)} or
+ * {@link VertxEvent#setAsyncReply(java.util.concurrent.CompletionStage)}, or fail the message via {@link #fail(VertxEvent, int, String)}. If an observer method
+ * throws an exception all the messages of the batch are failed.
+ * </p>
+ * <p>
+ * It's not possible to observe both {@link VertxEvent} and {@link VertxBatchEvent} for the same address.
+ * </p>
+ *
+ * @author Martin Kouba
+ * @see VertxConsumer
+ */
+public interface VertxBatchEvent {
+
+    /**
+     * The max number of messages in a batch if {@link VertxConsumer#batchSize()} is not set.
+     */
+    int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The max time in milliseconds to wait for a batch to fill if {@link VertxConsumer#batchTimeout()} is not set.
+     */
+    long DEFAULT_BATCH_TIMEOUT = 10;
+
+    /**
+     *
+     * @return the address the messages were sent to
+     */
+    String getAddress();
+
+    /**
+     *
+     * @return the immutable list of events, in the order the messages were received
+     */
+    List<VertxEvent> getEvents();
+
+    /**
+     *
+     * @return the number of messages in the batch
+     */
+    int size();
+
+    /**
+     * Fail the given message. Unlike {@link VertxEvent#fail(int, String)} this method does not abort the processing of the batch. Note that
+     * {@link VertxEvent#fail(int, String)} would fail all the messages of the batch.
+     *
+     * @param event
+     * @param code
+     * @param message
+     * @throws IllegalArgumentException If the event does not belong to this batch
+     * @see io.vertx.core.eventbus.Message#fail(int, String)
+     */
+    void fail(VertxEvent event, int code, String message);
+
+    /**
+     * Send/publish messages using the Vertx event bus. The earliest deadline of the batch is propagated.
+     *
+     * @param address
+     * @return a message
+     */
+    VertxMessage messageTo(String address);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.inject.Vetoed;
+
+import org.jboss.weld.vertx.VertxEvent.VertxMessage;
+
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+
+@Vetoed
+class VertxBatchEventImpl implements VertxBatchEvent {
+
+    private final String address;
+
+    private final EventBus eventBus;
+
+    private final List<VertxEvent> events;
+
+    // The earliest deadline of the batch, 0 if no deadline is set
+    private final long deadline;
+
+    VertxBatchEventImpl(String address, List<Message<Object>> messages, EventBus eventBus, BodyConverters bodyConverters, boolean deadlines) {
+        this.address = address;
+        this.eventBus = eventBus;
+        List<VertxEvent> events = new ArrayList<>(messages.size());
+        long deadline = 0;
+        for (Message<Object> message : messages) {
+            VertxEventImpl event = new VertxEventImpl(message, eventBus, bodyConverters, deadlines);
+            events.add(event);
+            if (event.getDeadline() != 0 && (deadline == 0 || event.getDeadline() < deadline)) {
+                deadline = event.getDeadline();
+            }
+        }
+        this.events = Collections.unmodifiableList(events);
+        this.deadline = deadline;
+    }
+
+    @Override
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public List<VertxEvent> getEvents() {
+        return events;
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public void fail(VertxEvent event, int code, String message) {
+        if (!(event instanceof VertxEventImpl) || !events.contains(event)) {
+            throw new IllegalArgumentException("The event does not belong to this batch: " + event);
+        }
+        ((VertxEventImpl) event).setFailure(new RecipientFailure(code, message));
+    }
+
+    @Override
+    public VertxMessage messageTo(String address) {
+        // The earliest deadline is propagated
+        return new VertxMessageImpl(address, eventBus, deadline);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * A bean annotated with {@link VertxCodec} whose bean types include {@link io.vertx.core.eventbus.MessageCodec} with identical type arguments, e.g.
+ * {@code MessageCodec<Order, Order>}, is automatically registered as the default codec for the given type. The codec is registered when the
+ * {@link io.vertx.core.Vertx} instance becomes available and unregistered when the container is shut down.
+ * <p>
+ * {@link LocalMessageCodec} can be used as a base class - it passes the objects by reference when delivered locally.
+ * </p>
+ *
+ * <pre>
+ * &#64;VertxCodec
+ * &#64;ApplicationScoped
+ * class OrderCodec extends LocalMessageCodec&lt;Order&gt; {
+ * }
+ * </pre>
+ *
+ * @author Martin Kouba
+ * @see io.vertx.core.eventbus.EventBus#registerDefaultCodec(Class, io.vertx.core.eventbus.MessageCodec)
+ * @see LocalMessageCodec
+ */
+@Target({ TYPE })
+@Retention(RUNTIME)
+public @interface VertxCodec {
+
+}
@@ -26,11 +26,16 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import javax.enterprise.util.AnnotationLiteral;
+import javax.enterprise.util.Nonbinding;
 import javax.inject.Qualifier;
 
 /**
- * An observer method must declare an event parameter of the type {@link VertxEvent} with {@link VertxConsumer} qualifier in order to be notified when a message
- * is sent via {@link io.vertx.core.eventbus.EventBus}.
+ * An observer method must declare an event parameter of the type {@link VertxEvent} (or {@link VertxBatchEvent}) with {@link VertxConsumer} qualifier in order
+ * to be notified when a message is sent via {@link io.vertx.core.eventbus.EventBus}.
+ * <p>
+ * All members except {@link #value()} are non-binding and configure the consumer registered for the given address. If there are multiple observer methods
+ * for the same address, at most one of them may declare a non-default configuration (or all of them must declare the same configuration).
+ * </p>
  *
  * @author Martin Kouba
  * @see VertxEvent
@@ -46,6 +51,206 @@ public @interface VertxConsumer {
      */
     String value();
 
+    /**
+     *
+     * @return the way the observer methods are notified
+     */
+    @Nonbinding
+    DispatchMode mode() default DispatchMode.WORKER_UNORDERED;
+
+    /**
+     * If set, a dedicated worker pool with the given name is used to notify the observer methods (unless {@link DispatchMode#EVENT_LOOP} is used or
+     * {@link DispatchMode#VIRTUAL} is used and virtual threads are supported). Consumers with the same worker pool name share the same pool. The size and the
+     * max execute time of a shared pool may be declared by any of the consumers but the declared values must not conflict.
+     *
+     * @return the name of the worker pool
+     * @see io.vertx.core.Vertx#createSharedWorkerExecutor(String, int, long)
+     */
+    @Nonbinding
+    String workerPool() default "";
+
+    /**
+     * If not set, {@link io.vertx.core.VertxOptions#DEFAULT_WORKER_POOL_SIZE} is used.
+     *
+     * @return the size of the dedicated worker pool
+     * @see #workerPool()
+     */
+    @Nonbinding
+    int workerPoolSize() default 0;
+
+    /**
+     * If not set, {@link io.vertx.core.VertxOptions#DEFAULT_MAX_WORKER_EXECUTE_TIME} is used.
+     *
+     * @return the max execute time in milliseconds for a thread of the dedicated worker pool
+     * @see #workerPool()
+     */
+    @Nonbinding
+    long maxWorkerExecuteTime() default 0;
+
+    /**
+     * Only taken into account if the observer methods observe {@link VertxBatchEvent}. If not set, {@link VertxBatchEvent#DEFAULT_BATCH_SIZE} is used.
+     *
+     * @return the max number of messages delivered in a single batch
+     * @see VertxBatchEvent
+     */
+    @Nonbinding
+    int batchSize() default 0;
+
+    /**
+     * Only taken into account if the observer methods observe {@link VertxBatchEvent}. If not set, {@link VertxBatchEvent#DEFAULT_BATCH_TIMEOUT} is used.
+     *
+     * @return the max time in milliseconds to wait for a batch to fill
+     * @see VertxBatchEvent
+     */
+    @Nonbinding
+    long batchTimeout() default 0;
+
+    /**
+     * If set, the consumer is paused when the number of messages being processed reaches the limit and resumed as soon as it drops below the limit. Messages
+     * received while the consumer is paused are buffered - see {@link #maxBufferedMessages()}. If not set, the number of messages being processed is not
+     * limited.
+     * <p>
+     * A message with a streamed reply (see {@link VertxEvent#replyStream()}) is being processed until the stream is ended or failed.
+     * </p>
+     *
+     * @return the max number of messages being processed at the same time
+     * @see io.vertx.core.eventbus.MessageConsumer#pause()
+     */
+    @Nonbinding
+    int maxInFlight() default 0;
+
+    /**
+     * If not set, {@link io.vertx.core.eventbus.MessageConsumer#DEFAULT_MAX_BUFFERED_MESSAGES} is used.
+     *
+     * @return the max number of messages buffered while the consumer is paused
+     * @see io.vertx.core.eventbus.MessageConsumer#setMaxBufferedMessages(int)
+     */
+    @Nonbinding
+    int maxBufferedMessages() default 0;
+
+    /**
+     * Only taken into account if {@link DispatchMode#WORKER_KEYED} is used. If not set or if a message does not declare the header, the message body is used
+     * as the key.
+     *
+     * @return the name of the message header whose value is used as the key
+     * @see DispatchMode#WORKER_KEYED
+     */
+    @Nonbinding
+    String keyHeader() default "";
+
+    /**
+     * Only taken into account if {@link DispatchMode#WORKER_KEYED} is used. If not set, {@link #workerPoolSize()} is used if set, or
+     * {@link io.vertx.core.VertxOptions#DEFAULT_WORKER_POOL_SIZE} otherwise.
+     *
+     * @return the number of serial executors messages are distributed to
+     * @see DispatchMode#WORKER_KEYED
+     */
+    @Nonbinding
+    int stripes() default 0;
+
+    /**
+     * Only taken into account if {@link DispatchMode#WORKER_KEYED} is used. A message which is not completely processed in time (e.g. an asynchronous
+     * reply is never completed) releases its stripe so that the subsequent messages with the same key are not blocked forever. If the message declares a
+     * deadline (see {@link #deadlines()}) the remaining time is used if shorter. If not set,
+     * {@link io.vertx.core.eventbus.DeliveryOptions#DEFAULT_TIMEOUT} is used.
+     *
+     * @return the max time in milliseconds a message may hold its stripe
+     * @see DispatchMode#WORKER_KEYED
+     */
+    @Nonbinding
+    long keyedTimeout() default 0;
+
+    /**
+     * A deferred consumer is not critical for the application startup. If {@link WeldVerticle} is used, it's registered after the verticle is started.
+     * Otherwise, this member is ignored.
+     *
+     * @return <code>true</code> if the registration of the consumer should be deferred
+     */
+    @Nonbinding
+    boolean deferred() default false;
+
+    /**
+     * A local consumer is only registered on the local node, i.e. the address is not propagated across the cluster and the consumer only receives the
+     * messages sent from the same node.
+     *
+     * @return <code>true</code> if the consumer should be registered locally
+     * @see io.vertx.core.eventbus.EventBus#localConsumer(String)
+     */
+    @Nonbinding
+    boolean local() default false;
+
+    /**
+     * If set, a new message is failed immediately with {@link VertxEvent#OVERLOADED_CODE} if the estimated time it would wait for a worker thread exceeds
+     * the limit. The estimate is the number of messages waiting for a worker thread times the recent average processing time divided by the number of
+     * messages that can be processed concurrently. Messages with a positive {@link VertxEvent#PRIORITY_HEADER} are never rejected. If not set, messages are
+     * never rejected.
+     * <p>
+     * This member is ignored if {@link DispatchMode#EVENT_LOOP} is used or if the observer methods observe {@link VertxBatchEvent}.
+     * </p>
+     *
+     * @return the max estimated queue wait time in milliseconds
+     * @see VertxEvent#OVERLOADED_CODE
+     */
+    @Nonbinding
+    long maxQueueWait() default 0;
+
+    /**
+     * If set, the {@link VertxEvent#DEADLINE_HEADER} of a received message is taken into account, i.e. an expired message is dropped and the deadline is
+     * propagated to the messages sent via {@link VertxEvent#messageTo(String)}. Deadlines are opt-in because reading a header of a message which was sent
+     * without headers allocates an empty headers map.
+     *
+     * @return <code>true</code> if deadlines should be honored
+     * @see VertxEvent#DEADLINE_HEADER
+     */
+    @Nonbinding
+    boolean deadlines() default false;
+
+    enum DispatchMode {
+
+        /**
+         * Observer methods are notified on the event-loop thread. The observer methods must never block.
+         */
+        EVENT_LOOP,
+        /**
+         * Observer methods are notified using a worker thread. Messages are processed one at a time, in the order they were received.
+         *
+         * @see io.vertx.core.Vertx#executeBlocking(io.vertx.core.Handler, boolean, io.vertx.core.Handler)
+         */
+        WORKER_ORDERED,
+        /**
+         * Observer methods are notified using a worker thread. Messages may be processed in parallel.
+         *
+         * @see io.vertx.core.Vertx#executeBlocking(io.vertx.core.Handler, boolean, io.vertx.core.Handler)
+         */
+        WORKER_UNORDERED,
+        /**
+         * Observer methods are notified using a worker thread. Messages with the same key are processed one at a time, in the order they were received.
+         * Messages with different keys may be processed in parallel.
+         * <p>
+         * Messages are distributed to a fixed number of serial executors (stripes) according to the hash code of the key, i.e. messages with different keys
+         * may share the same stripe.
+         * </p>
+         * <p>
+         * A message is only considered processed once the asynchronous observer methods, the asynchronous reply (see
+         * {@link VertxEvent#setAsyncReply(java.util.concurrent.CompletionStage)}) and the reply stream (see {@link VertxEvent#replyStream()}) complete.
+         * </p>
+         *
+         * @see VertxConsumer#keyHeader()
+         * @see VertxConsumer#stripes()
+         * @see VertxConsumer#keyedTimeout()
+         */
+        WORKER_KEYED,
+        /**
+         * Observer methods are notified using a new virtual thread. Messages may be processed in parallel. The reply is sent from the context the message was
+         * received on.
+         * <p>
+         * Virtual threads require JDK 21+. If not supported, {@link #WORKER_UNORDERED} is used instead.
+         * </p>
+         */
+        VIRTUAL
+
+    }
+
     public final class Literal extends AnnotationLiteral<VertxConsumer> implements VertxConsumer {
 
         private static final long serialVersionUID = 1L;
@@ -60,6 +265,66 @@ public @interface VertxConsumer {
             return value;
         }
 
+        public DispatchMode mode() {
+            return DispatchMode.WORKER_UNORDERED;
+        }
+
+        public String workerPool() {
+            return "";
+        }
+
+        public int workerPoolSize() {
+            return 0;
+        }
+
+        public long maxWorkerExecuteTime() {
+            return 0;
+        }
+
+        public int batchSize() {
+            return 0;
+        }
+
+        public long batchTimeout() {
+            return 0;
+        }
+
+        public int maxInFlight() {
+            return 0;
+        }
+
+        public int maxBufferedMessages() {
+            return 0;
+        }
+
+        public String keyHeader() {
+            return "";
+        }
+
+        public int stripes() {
+            return 0;
+        }
+
+        public long keyedTimeout() {
+            return 0;
+        }
+
+        public boolean deferred() {
+            return false;
+        }
+
+        public boolean local() {
+            return false;
+        }
+
+        public long maxQueueWait() {
+            return 0;
+        }
+
+        public boolean deadlines() {
+            return false;
+        }
+
         private Literal(String value) {
             this.value = value;
         }
@@ -16,9 +16,14 @@
  */
 package org.jboss.weld.vertx;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 
@@ -28,6 +33,10 @@ import io.vertx.core.eventbus.Message;
  * An observer method must declare an event parameter of the type {@link VertxEvent} with {@link VertxConsumer} qualifier in order to be notified when a message
  * is sent via {@link io.vertx.core.eventbus.EventBus}.
  * </p>
+ * <p>
+ * Asynchronous observer methods (i.e. with an event parameter annotated with {@link javax.enterprise.event.ObservesAsync}) are also supported. Such observer
+ * methods are notified after all the synchronous observer methods. The message is replied after all the asynchronous observer methods are notified.
+ * </p>
  *
  * @author Martin Kouba
  * @see VertxConsumer
@@ -41,6 +50,38 @@ public interface VertxEvent {
      */
     int OBSERVER_FAILURE_CODE = 0x1B00;
 
+    /**
+     * A failure code that is used if a message is dropped because its deadline has passed.
+     *
+     * @see #DEADLINE_HEADER
+     */
+    int DEADLINE_EXCEEDED_CODE = 0x1B01;
+
+    /**
+     * The header containing the deadline of a message, i.e. the time in milliseconds since the epoch after which the sender is not interested in the
+     * reply anymore. Messages whose deadline has passed are not delivered to the observer methods and are never replied.
+     * <p>
+     * The header is only taken into account if the consumer opts in, see {@link VertxConsumer#deadlines()}.
+     * </p>
+     *
+     * @see VertxMessage#setTimeout(long)
+     */
+    String DEADLINE_HEADER = "weld-vertx-deadline";
+
+    /**
+     * A failure code that is used if a message is rejected because the consumer is overloaded.
+     *
+     * @see VertxConsumer#maxQueueWait()
+     */
+    int OVERLOADED_CODE = 0x1B02;
+
+    /**
+     * The header containing the priority of a message. A message with a positive priority is never rejected because the consumer is overloaded.
+     *
+     * @see VertxConsumer#maxQueueWait()
+     */
+    String PRIORITY_HEADER = "weld-vertx-priority";
+
     /**
      *
      * @return the address the message was sent to
@@ -62,6 +103,49 @@ public interface VertxEvent {
      */
     Object getMessageBody();
 
+    /**
+     * Convert the message body to the given type. The conversion is performed at most once per message and type, i.e. the result is cached and shared by all
+     * the observer methods notified for the message.
+     * <p>
+     * The following conversions are supported:
+     * <ul>
+     * <li>if the body is an instance of the given type, it's returned as is,</li>
+     * <li>{@link String} and {@link Buffer} to {@link io.vertx.core.json.JsonObject}, {@link io.vertx.core.json.JsonArray} or any type supported by
+     * {@link io.vertx.core.json.Json#decodeValue(String, Class)},</li>
+     * <li>{@link io.vertx.core.json.JsonObject} to {@link String}, {@link Buffer} or any type supported by
+     * {@link io.vertx.core.json.JsonObject#mapTo(Class)},</li>
+     * <li>{@link io.vertx.core.json.JsonArray} to {@link String} or {@link Buffer},</li>
+     * <li>{@link String} to {@link Buffer} and vice versa,</li>
+     * <li>any type to {@link io.vertx.core.json.JsonObject} via {@link io.vertx.core.json.JsonObject#mapFrom(Object)}.</li>
+     * </ul>
+     * </p>
+     *
+     * @param type
+     * @return the message body converted to the given type, or <code>null</code> if the body is <code>null</code>
+     * @throws IllegalArgumentException If the body cannot be converted to the given type
+     * @throws io.vertx.core.json.DecodeException If the body cannot be decoded
+     */
+    <T> T getMessageBody(Class<T> type);
+
+    /**
+     * Unlike {@link Buffer#getBytes()} or {@link Buffer#copy()}, the content of the body is not copied. If the message was sent using
+     * {@link ReadOnlyBufferCodec}, the content is shared with the buffer that was sent.
+     *
+     * @return a read-only slice of the message body if the body is a {@link Buffer}, or <code>null</code> otherwise
+     * @see ReadOnlyBufferCodec
+     */
+    ByteBuf getMessageBodySlice();
+
+    /**
+     * The remaining time may be passed downstream, e.g. via {@link VertxMessage#setTimeout(long)}. Note that messages sent via {@link #messageTo(String)}
+     * inherit the deadline automatically.
+     *
+     * @return the number of milliseconds remaining until the deadline, <code>0</code> if the deadline has passed or {@link Long#MAX_VALUE} if no deadline
+     *         is set
+     * @see #DEADLINE_HEADER
+     */
+    long getRemainingTime();
+
     /**
      *
      * @return the reply address, or null in case of the message was sent without a reply handler
@@ -85,6 +169,37 @@ public interface VertxEvent {
      */
     boolean setReply(Object reply);
 
+    /**
+     * Reply to the message with a stream of items. The sender must accept a streamed reply, i.e. the message must be sent via
+     * {@link ReplyStreams#request(io.vertx.core.Vertx, String, Object)}. The items may be written after the observer method returns, but
+     * {@link ReplyStream#end()} must be called eventually.
+     * <p>
+     * Once the reply stream is obtained, {@link #setReply(Object)} and {@link #setAsyncReply(CompletionStage)} are ignored.
+     * </p>
+     *
+     * @return the reply stream
+     * @throws IllegalStateException If the sender does not accept a streamed reply or if a reply was already set
+     * @see ReplyStreams
+     */
+    ReplyStream replyStream();
+
+    /**
+     * Set the asynchronous reply to the message. The reply is passed to {@link Message#reply(Object)} when the given completion stage is completed normally. If
+     * it is completed exceptionally the message is failed, i.e. {@link Message#fail(int, String)} is used. If the completion stage is completed with
+     * {@link RecipientFailure} the specified failure code is used.
+     * <p>
+     * This allows an observer to perform asynchronous operations (e.g. send another message) without blocking the thread.
+     * </p>
+     * <p>
+     * The same rules as for {@link #setReply(Object)} apply, i.e. only the first reply set is used.
+     * </p>
+     *
+     * @param reply
+     * @return <tt>true</tt> if the reply was sucessfully set
+     * @see #setReply(Object)
+     */
+    boolean setAsyncReply(CompletionStage<?> reply);
+
     /**
      * Aborts the processing of the event - no other observer methods will be called (unless the thrown {@link RecipientFailure} is swallowed).
      *
@@ -99,6 +214,7 @@ public interface VertxEvent {
      *
      * @return <code>true</code> if a reply was previously set, <code>false</code> otherwise
      * @see #setReply(Object)
+     * @see #setAsyncReply(CompletionStage)
      */
     boolean isReplied();
 
@@ -118,10 +234,59 @@ public interface VertxEvent {
 
         VertxMessage setDeliveryOptions(DeliveryOptions deliveryOptions);
 
+        /**
+         * If set to <code>true</code>, {@link Buffer} messages are sent using {@link ReadOnlyBufferCodec}, i.e. the content is not copied when delivered
+         * locally. The buffer must not be modified after sent. Other messages are not affected.
+         *
+         * @param zeroCopy
+         * @return self
+         * @see ReadOnlyBufferCodec
+         */
+        VertxMessage setZeroCopy(boolean zeroCopy);
+
+        /**
+         * Set the deadline of the message to the current time plus the given timeout. The deadline is propagated in the {@link VertxEvent#DEADLINE_HEADER}
+         * header. The send timeout of a message sent with a reply handler does not exceed the timeout.
+         *
+         * @param timeout the timeout in milliseconds
+         * @return self
+         * @see VertxEvent#DEADLINE_HEADER
+         */
+        VertxMessage setTimeout(long timeout);
+
         void send(Object message);
 
         void send(Object message, Handler<AsyncResult<Message<Object>>> replyHandler);
 
+        /**
+         * Send the message and expect a reply.
+         * <p>
+         * If called on a Vert.x thread the returned stage executes the async dependent actions (e.g. {@code thenApplyAsync()}) on the caller's context.
+         *
+         * @param message
+         * @return a completion stage which is completed with the reply, or completed exceptionally if the request fails (e.g. on timeout)
+         * @see io.vertx.core.eventbus.ReplyException
+         */
+        <T> CompletionStage<Message<T>> request(Object message);
+
+        /**
+         * Send all the messages. The delivery options are only resolved once and shared by all the messages.
+         *
+         * @param messages
+         */
+        void sendAll(Iterable<?> messages);
+
+        /**
+         * Send all the messages at once, i.e. without waiting for a reply before the next message is sent. The delivery options are only resolved once and
+         * shared by all the messages.
+         *
+         * @param messages
+         * @return a completion stage which is completed with the replies in the order of the messages sent when all of them are received, or completed
+         *         exceptionally as soon as any of the requests fails
+         * @see #request(Object)
+         */
+        <T> CompletionStage<List<Message<T>>> requestAll(Iterable<?> messages);
+
         void publish(Object message);
 
     }
@@ -16,9 +16,16 @@
  */
 package org.jboss.weld.vertx;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
 import javax.enterprise.inject.Vetoed;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.logging.Logger;
@@ -33,11 +40,43 @@ class VertxEventImpl implements VertxEvent {
 
     private final Message<Object> message;
 
+    private final BodyConverters bodyConverters;
+
     private Object reply;
 
-    VertxEventImpl(Message<Object> message, EventBus eventBus) {
+    private CompletionStage<?> asyncReply;
+
+    private ReplyStreamImpl replyStream;
+
+    // 0 if no deadline is set
+    private final long deadline;
+
+    // System.nanoTime() when the event was dispatched to a thread
+    private long dispatchTime;
+
+    // No result is processed if no reply is expected and the in-flight messages are not tracked
+    private boolean oneWay;
+
+    // Either set via VertxBatchEvent.fail() or an exception thrown by an observer method
+    private Throwable failure;
+
+    // The last converted body - observers of the same message usually request the same type
+    private Class<?> convertedType;
+
+    private Object convertedBody;
+
+    // Other converted bodies, lazily initialized
+    private Map<Class<?>, Object> convertedBodies;
+
+    // Invoked once the message is completely processed, null if not needed
+    private volatile Runnable completionCallback;
+
+    VertxEventImpl(Message<Object> message, EventBus eventBus, BodyConverters bodyConverters, boolean deadlines) {
         this.eventBus = eventBus;
         this.message = message;
+        this.bodyConverters = bodyConverters;
+        // Do not read the headers unless needed
+        this.deadline = deadlines ? getDeadline(message) : 0;
     }
 
     @Override
@@ -55,18 +94,52 @@ class VertxEventImpl implements VertxEvent {
         return message.body();
     }
 
+    @Override
+    public synchronized <T> T getMessageBody(Class<T> type) {
+        Object body = message.body();
+        if (body == null || type.isInstance(body)) {
+            return type.cast(body);
+        }
+        if (type.equals(convertedType)) {
+            return type.cast(convertedBody);
+        }
+        if (convertedBodies != null && convertedBodies.containsKey(type)) {
+            return type.cast(convertedBodies.get(type));
+        }
+        T converted = bodyConverters.convert(body, type);
+        if (convertedType != null) {
+            if (convertedBodies == null) {
+                convertedBodies = new HashMap<>(4);
+            }
+            convertedBodies.put(convertedType, convertedBody);
+        }
+        convertedType = type;
+        convertedBody = converted;
+        return converted;
+    }
+
+    @Override
+    public ByteBuf getMessageBodySlice() {
+        Object body = message.body();
+        return body instanceof Buffer ? ((Buffer) body).getByteBuf().asReadOnly() : null;
+    }
+
     @Override
     public String getReplyAddress() {
         return message.replyAddress();
     }
 
     @Override
-    public boolean setReply(Object reply) {
-        if (message.replyAddress() == null) {
-            LOGGER.warn("The message was sent without a reply handler - the reply will be ignored");
+    public long getRemainingTime() {
+        if (deadline == 0) {
+            return Long.MAX_VALUE;
         }
-        if (this.reply != null) {
-            LOGGER.warn("A reply was already set - the old value is replaced");
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized boolean setReply(Object reply) {
+        if (!checkReply()) {
             return false;
         }
         this.reply = reply;
@@ -74,8 +147,34 @@ class VertxEventImpl implements VertxEvent {
     }
 
     @Override
-    public boolean isReplied() {
-        return reply != null;
+    public synchronized boolean setAsyncReply(CompletionStage<?> reply) {
+        if (!checkReply()) {
+            return false;
+        }
+        this.asyncReply = reply;
+        return true;
+    }
+
+    @Override
+    public synchronized ReplyStream replyStream() {
+        if (replyStream != null) {
+            return replyStream;
+        }
+        String streamAddress = message.headers().get(ReplyStreams.STREAM_ADDRESS_HEADER);
+        if (streamAddress == null) {
+            throw new IllegalStateException("The sender does not accept a streamed reply: " + message.address());
+        }
+        if (isReplied()) {
+            throw new IllegalStateException("A reply was already set: " + message.address());
+        }
+        String timeout = message.headers().get(ReplyStreams.STREAM_TIMEOUT_HEADER);
+        replyStream = new ReplyStreamImpl(eventBus, streamAddress, timeout != null ? Long.parseLong(timeout) : DeliveryOptions.DEFAULT_TIMEOUT);
+        return replyStream;
+    }
+
+    @Override
+    public synchronized boolean isReplied() {
+        return reply != null || asyncReply != null || replyStream != null || failure != null;
     }
 
     @Override
@@ -85,11 +184,103 @@ class VertxEventImpl implements VertxEvent {
 
     @Override
     public VertxMessage messageTo(String address) {
-        return new VertxMessageImpl(address, eventBus);
+        // The deadline is propagated
+        return new VertxMessageImpl(address, eventBus, deadline);
     }
 
-    Object getReply() {
+    synchronized Object getReply() {
         return reply;
     }
 
+    synchronized CompletionStage<?> getAsyncReply() {
+        return asyncReply;
+    }
+
+    synchronized ReplyStreamImpl getReplyStream() {
+        return replyStream;
+    }
+
+    synchronized void setFailure(RecipientFailure failure) {
+        if (checkReply()) {
+            this.failure = failure;
+        }
+    }
+
+    synchronized void setObserverFailure(Throwable failure) {
+        // An exception thrown by an observer method always takes precedence
+        this.failure = failure;
+    }
+
+    synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    Message<Object> getMessage() {
+        return message;
+    }
+
+    boolean isExpired() {
+        return isExpired(deadline);
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    void setDispatchTime(long dispatchTime) {
+        this.dispatchTime = dispatchTime;
+    }
+
+    long getDispatchTime() {
+        return dispatchTime;
+    }
+
+    void setOneWay(boolean oneWay) {
+        this.oneWay = oneWay;
+    }
+
+    boolean isOneWay() {
+        return oneWay;
+    }
+
+    void setCompletionCallback(Runnable completionCallback) {
+        this.completionCallback = completionCallback;
+    }
+
+    void completed() {
+        Runnable callback = completionCallback;
+        if (callback != null) {
+            completionCallback = null;
+            callback.run();
+        }
+    }
+
+    static long getDeadline(Message<?> message) {
+        String value = message.headers().get(DEADLINE_HEADER);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid deadline header ignored: {0}", value);
+            return 0;
+        }
+    }
+
+    static boolean isExpired(long deadline) {
+        return deadline != 0 && System.currentTimeMillis() >= deadline;
+    }
+
+    private boolean checkReply() {
+        if (message.replyAddress() == null) {
+            LOGGER.warn("The message was sent without a reply handler - the reply will be ignored");
+        }
+        if (isReplied()) {
+            LOGGER.warn("A reply was already set - the old value is replaced");
+            return false;
+        }
+        return true;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Vetoed;
+
+import org.jboss.weld.executor.AbstractExecutorServices;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerExecutor;
+
+/**
+ * An implementation of {@link org.jboss.weld.manager.api.ExecutorServices} backed by a Vert.x {@link WorkerExecutor}, i.e. Weld does not need to start its
+ * own thread pool for concurrent deployment. The task executor is also used to notify asynchronous observer methods, i.e. the observer methods are
+ * notified using a worker thread and the Vert.x context of the thread that fired the event is propagated.
+ * <p>
+ * Optionally, if an event is fired from an event-loop thread, the asynchronous observer methods are notified on the same event loop and the
+ * {@link java.util.concurrent.CompletionStage} returned from {@link javax.enterprise.event.Event#fireAsync(Object)} is completed on the event loop as well.
+ * In that case, the observer methods must never block.
+ * </p>
+ * <p>
+ * {@link WeldVerticle} registers an instance automatically. The worker executor is closed when the Weld container is shut down.
+ * </p>
+ *
+ * <pre>
+ * Weld weld = new Weld().addServices(new VertxExecutorServices(vertx));
+ * </pre>
+ *
+ * @author Martin Kouba
+ * @see org.jboss.weld.config.ConfigurationKey#CONCURRENT_DEPLOYMENT
+ */
+@Vetoed
+public class VertxExecutorServices extends AbstractExecutorServices {
+
+    public static final String DEFAULT_WORKER_POOL_NAME = "weld-vertx-executor";
+
+    private final int poolSize;
+
+    private final boolean eventLoop;
+
+    private final WorkerExecutorService taskExecutor;
+
+    /**
+     * A shared worker executor with the {@link #DEFAULT_WORKER_POOL_NAME} and {@link VertxOptions#DEFAULT_WORKER_POOL_SIZE} is used.
+     *
+     * @param vertx
+     */
+    public VertxExecutorServices(Vertx vertx) {
+        this(vertx, false);
+    }
+
+    /**
+     * A shared worker executor with the {@link #DEFAULT_WORKER_POOL_NAME} and {@link VertxOptions#DEFAULT_WORKER_POOL_SIZE} is used.
+     *
+     * @param vertx
+     * @param eventLoop if set to <code>true</code> the tasks submitted from an event-loop thread are executed on the same event loop
+     */
+    public VertxExecutorServices(Vertx vertx, boolean eventLoop) {
+        this(vertx.createSharedWorkerExecutor(DEFAULT_WORKER_POOL_NAME, VertxOptions.DEFAULT_WORKER_POOL_SIZE), VertxOptions.DEFAULT_WORKER_POOL_SIZE,
+                eventLoop);
+    }
+
+    /**
+     *
+     * @param workerExecutor
+     * @param poolSize the size of the pool used by the worker executor
+     */
+    public VertxExecutorServices(WorkerExecutor workerExecutor, int poolSize) {
+        this(workerExecutor, poolSize, false);
+    }
+
+    /**
+     *
+     * @param workerExecutor
+     * @param poolSize the size of the pool used by the worker executor
+     * @param eventLoop if set to <code>true</code> the tasks submitted from an event-loop thread are executed on the same event loop
+     */
+    public VertxExecutorServices(WorkerExecutor workerExecutor, int poolSize, boolean eventLoop) {
+        this.poolSize = poolSize;
+        this.eventLoop = eventLoop;
+        this.taskExecutor = new WorkerExecutorService(workerExecutor, eventLoop);
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "VertxExecutorServices [poolSize=" + poolSize + ", eventLoop=" + eventLoop + "]";
+    }
+
+    /**
+     * Adapts {@link WorkerExecutor} to {@link ExecutorService}. The tasks are executed unordered.
+     * <p>
+     * Note that a task executed on an event loop must not wait for other tasks submitted from the same thread, e.g. {@link #invokeAll(java.util.Collection)}
+     * must not be called from an event-loop thread if the event loop mode is enabled.
+     * </p>
+     */
+    static class WorkerExecutorService extends AbstractExecutorService {
+
+        private final WorkerExecutor workerExecutor;
+
+        private final boolean eventLoop;
+
+        // The number of tasks submitted but not finished yet
+        private int active;
+
+        private boolean shutdown;
+
+        WorkerExecutorService(WorkerExecutor workerExecutor, boolean eventLoop) {
+            this.workerExecutor = workerExecutor;
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            synchronized (this) {
+                if (shutdown) {
+                    throw new RejectedExecutionException("Executor already shut down");
+                }
+                active++;
+            }
+            try {
+                Context context = Vertx.currentContext();
+                if (eventLoop && context != null && Context.isOnEventLoopThread()) {
+                    // No context switch - the task is executed after the current event-loop task
+                    context.runOnContext(v -> run(command));
+                } else {
+                    // The context of the caller (if any) is propagated
+                    workerExecutor.<Void> executeBlocking(f -> {
+                        run(command);
+                        f.complete();
+                    }, false, null);
+                }
+            } catch (RuntimeException e) {
+                // The task was not submitted, e.g. the worker pool is closed
+                finished();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            synchronized (this) {
+                if (shutdown) {
+                    return;
+                }
+                shutdown = true;
+            }
+            workerExecutor.close();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            // The tasks already submitted cannot be removed from the queue
+            return Collections.emptyList();
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return shutdown && active == 0;
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private void run(Runnable command) {
+            try {
+                command.run();
+            } finally {
+                finished();
+            }
+        }
+
+        private synchronized void finished() {
+            active--;
+            if (active == 0) {
+                notifyAll();
+            }
+        }
+
+    }
+
+}
@@ -17,13 +17,23 @@
 package org.jboss.weld.vertx;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
+import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -31,35 +41,56 @@ import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Default;
 import javax.enterprise.inject.spi.AfterBeanDiscovery;
 import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeShutdown;
+import javax.enterprise.inject.spi.DefinitionException;
 import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.inject.spi.ProcessBean;
 import javax.enterprise.inject.spi.ProcessBeanAttributes;
 import javax.enterprise.inject.spi.ProcessInjectionPoint;
+import javax.enterprise.inject.spi.ProcessManagedBean;
 import javax.enterprise.inject.spi.ProcessObserverMethod;
+import javax.interceptor.Interceptor;
 
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.reflection.Reflections;
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 /**
  * The central point of integration. Its task is to find all CDI observer methods that should be notified when a message is sent via
- * {@link io.vertx.core.eventbus.EventBus}. See also {@link VertxEvent} and {@link VertxConsumer}.
+ * {@link io.vertx.core.eventbus.EventBus}. See also {@link VertxEvent}, {@link VertxBatchEvent} and {@link VertxConsumer}.
  * <p>
  * If a {@link Vertx} instance is available:
  * <ul>
  * <li>also add custom beans for {@link Vertx} and {@link Context},</li>
+ * <li>register {@link ReadOnlyBufferCodec} and all the message codecs annotated with {@link VertxCodec},</li>
  * <li>and register consumers for all the addresses found.</li>
  * </ul>
  * </p>
  * <p>
- * {@link #registerConsumers(Vertx, Event)} could be also used after the bootstrap, e.g. when a Vertx instance is only available after a CDI container is
- * initialized.
+ * {@link #registerConsumers(Vertx, Event)} or {@link #registerConsumersAsync(Vertx, Event)} could be also used after the bootstrap, e.g. when a Vertx instance
+ * is only available after a CDI container is initialized.
+ * </p>
+ * <p>
+ * If used by {@link WeldVerticle}, the consumers are registered asynchronously and in parallel - the verticle is not started until all the consumers are
+ * registered, except for the consumers declared as {@link VertxConsumer#deferred()} which are registered after the verticle is started.
  * </p>
  *
  * @author Martin Kouba
@@ -72,34 +103,137 @@ public class VertxExtension implements Extension {
 
     public static final long DEFAULT_CONSUMER_REGISTRATION_TIMEOUT = 10000l;
 
+    /**
+     * If set to <code>false</code>, the observer methods are never invoked directly, i.e. plain CDI event semantics is always used.
+     */
+    public static final String CONSUMER_DIRECT_INVOCATION_KEY = "weld.vertx.consumer.direct.invocation";
+
+    /**
+     * If set to <code>true</code>, the {@link AsyncReference}s resolved using a worker thread from the same context are resolved one at a time. By default,
+     * they're resolved in parallel.
+     */
+    public static final String ASYNC_REFERENCE_ORDERED_KEY = "weld.vertx.async.reference.ordered";
+
+    /**
+     * If set, a dedicated worker pool with the given name is used to resolve the {@link AsyncReference}s.
+     */
+    public static final String ASYNC_REFERENCE_WORKER_POOL_KEY = "weld.vertx.async.reference.worker.pool";
+
+    /**
+     * If not set, {@link VertxOptions#DEFAULT_WORKER_POOL_SIZE} is used.
+     */
+    public static final String ASYNC_REFERENCE_WORKER_POOL_SIZE_KEY = "weld.vertx.async.reference.worker.pool.size";
+
+    /**
+     * A JSON array of fully qualified names of the bean classes of {@link ApplicationScoped} managed beans which should be initialized eagerly.
+     *
+     * @see Eager
+     */
+    public static final String EAGER_BEANS_KEY = "weld.vertx.eager.beans";
+
+    /**
+     * If set to <code>true</code>, the asynchronous observer methods are notified on the event loop if an event is fired from an event-loop thread. By
+     * default, a worker thread is used. Only taken into account if {@link WeldVerticle} is used.
+     *
+     * @see VertxExecutorServices
+     */
+    public static final String ASYNC_OBSERVERS_EVENT_LOOP_KEY = "weld.vertx.async.observers.event.loop";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(VertxExtension.class.getName());
 
-    private final Set<String> consumerAddresses;
+    private final Map<String, VertxConsumer> consumerAddresses;
+
+    // Worker pool name -> the consumer which declared the size
+    private final Map<String, VertxConsumer> workerPoolSizes;
+
+    // Worker pool name -> the consumer which declared the max execute time
+    private final Map<String, VertxConsumer> workerPoolMaxExecuteTimes;
+
+    private final Set<String> asyncObserverAddresses;
+
+    private final Set<String> batchObserverAddresses;
+
+    private final Set<String> eventObserverAddresses;
 
     private final Set<Annotation> asyncReferenceQualifiers;
 
+    private final Set<AsyncReferencePlan.Key> asyncReferenceKeys;
+
+    private final ConcurrentMap<AsyncReferencePlan.Key, AsyncReferencePlan> asyncReferencePlans;
+
+    private final List<WorkerExecutor> workerExecutors;
+
+    private final DispatchMetricsImpl metrics;
+
+    private final BodyConverters bodyConverters;
+
+    private final Map<Class<?>, Bean<?>> codecBeans;
+
+    private final List<Class<?>> registeredCodecs;
+
+    private final List<Bean<?>> eagerBeans;
+
+    private Vertx codecVertx;
+
+    private volatile WorkerExecutor asyncReferenceExecutor;
+
+    private volatile boolean asyncReferenceOrdered;
+
     private final Vertx vertx;
 
     private final Context context;
 
+    private volatile BeanManagerImpl beanManager;
+
+    // True if the registration of consumers should not block the bootstrap
+    private final boolean asyncRegistration;
+
+    private volatile Future<Void> consumerRegistration;
+
     public VertxExtension() {
         this(null, null);
     }
 
     public VertxExtension(Vertx vertx, Context context) {
-        this.consumerAddresses = new HashSet<>();
+        this(vertx, context, false);
+    }
+
+    VertxExtension(Vertx vertx, Context context, boolean asyncRegistration) {
+        this.consumerAddresses = new HashMap<>();
+        this.workerPoolSizes = new HashMap<>();
+        this.workerPoolMaxExecuteTimes = new HashMap<>();
+        this.asyncObserverAddresses = new HashSet<>();
+        this.batchObserverAddresses = new HashSet<>();
+        this.eventObserverAddresses = new HashSet<>();
         this.asyncReferenceQualifiers = new HashSet<>();
+        this.asyncReferenceKeys = new HashSet<>();
+        this.asyncReferencePlans = new ConcurrentHashMap<>();
+        this.workerExecutors = new ArrayList<>();
+        this.metrics = new DispatchMetricsImpl();
+        this.bodyConverters = new BodyConverters();
+        this.codecBeans = new HashMap<>();
+        this.registeredCodecs = new ArrayList<>();
+        this.eagerBeans = new ArrayList<>();
         this.vertx = vertx;
         this.context = context;
+        this.asyncRegistration = asyncRegistration;
     }
 
+    // Implementation note - container lifecycle events may be fired concurrently if concurrent deployment is enabled, therefore the observer methods that
+    // modify the state of the extension are synchronized
     @SuppressWarnings("rawtypes")
-    void processAsyncReferenceInjectionPoints(@Observes ProcessInjectionPoint<?, ? extends AsyncReference> event) {
-        asyncReferenceQualifiers.addAll(event.getInjectionPoint().getQualifiers());
+    synchronized void processAsyncReferenceInjectionPoints(@Observes ProcessInjectionPoint<?, ? extends AsyncReference> event) {
+        InjectionPoint injectionPoint = event.getInjectionPoint();
+        asyncReferenceQualifiers.addAll(injectionPoint.getQualifiers());
+        if (injectionPoint.getType() instanceof ParameterizedType) {
+            // The resolution plan is built after the deployment is validated
+            asyncReferenceKeys.add(new AsyncReferencePlan.Key(((ParameterizedType) injectionPoint.getType()).getActualTypeArguments()[0],
+                    injectionPoint.getQualifiers()));
+        }
     }
 
     @SuppressWarnings("rawtypes")
-    void addAsyncReferenceQualifiers(@Observes ProcessBeanAttributes<AsyncReferenceImpl> event) {
+    synchronized void addAsyncReferenceQualifiers(@Observes ProcessBeanAttributes<AsyncReferenceImpl> event) {
         // Add all discovered qualifiers to AsyncReferenceImpl bean attributes
         if (!asyncReferenceQualifiers.isEmpty()) {
             LOGGER.debug("Adding additional AsyncReference qualifiers: {0}", asyncReferenceQualifiers);
@@ -107,17 +241,64 @@ public class VertxExtension implements Extension {
         }
     }
 
-    public void processVertxEventObserver(@Observes ProcessObserverMethod<VertxEvent, ?> event) {
-        String vertxAddress = getVertxAddress(event.getObserverMethod());
-        if (vertxAddress == null) {
+    public synchronized void processVertxEventObserver(@Observes ProcessObserverMethod<VertxEvent, ?> event) {
+        VertxConsumer consumer = getVertxConsumer(event.getObserverMethod());
+        if (consumer == null) {
             LOGGER.warn("VertxEvent observer found but no @VertxConsumer declared: {0}", event.getObserverMethod());
             return;
         }
         LOGGER.debug("Vertx message consumer found: {0}", event.getObserverMethod());
-        consumerAddresses.add(vertxAddress);
+        eventObserverAddresses.add(consumer.value());
+        addConsumer(event, consumer);
+    }
+
+    public synchronized void processVertxBatchEventObserver(@Observes ProcessObserverMethod<VertxBatchEvent, ?> event) {
+        VertxConsumer consumer = getVertxConsumer(event.getObserverMethod());
+        if (consumer == null) {
+            LOGGER.warn("VertxBatchEvent observer found but no @VertxConsumer declared: {0}", event.getObserverMethod());
+            return;
+        }
+        LOGGER.debug("Vertx batch message consumer found: {0}", event.getObserverMethod());
+        batchObserverAddresses.add(consumer.value());
+        addConsumer(event, consumer);
+    }
+
+    synchronized void processCodecBean(@Observes ProcessBean<?> event) {
+        if (!event.getAnnotated().isAnnotationPresent(VertxCodec.class)) {
+            return;
+        }
+        ParameterizedType codecType = getCodecType(event.getBean());
+        if (codecType == null) {
+            event.addDefinitionError(new DefinitionException(String.format(
+                    "@VertxCodec bean must have a bean type MessageCodec<T, T> where T is a class: %s", event.getBean())));
+            return;
+        }
+        Class<?> messageType = (Class<?>) codecType.getActualTypeArguments()[0];
+        Bean<?> existing = codecBeans.put(messageType, event.getBean());
+        if (existing != null) {
+            event.addDefinitionError(
+                    new DefinitionException(String.format("Multiple @VertxCodec beans found for %s: %s and %s", messageType.getName(), existing, event.getBean())));
+            return;
+        }
+        LOGGER.debug("Vertx message codec found for {0}: {1}", messageType.getName(), event.getBean());
+    }
+
+    synchronized void processEagerBean(@Observes ProcessBean<?> event) {
+        if (!event.getAnnotated().isAnnotationPresent(Eager.class) && !isEagerByConfig(event)) {
+            return;
+        }
+        if (!ApplicationScoped.class.equals(event.getBean().getScope())) {
+            LOGGER.warn("Eager initialization ignored - only @ApplicationScoped beans are supported: {0}", event.getBean());
+            return;
+        }
+        LOGGER.debug("Eager bean found: {0}", event.getBean());
+        eagerBeans.add(event.getBean());
     }
 
     public void registerBeansAfterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+        // Allow to inject the metrics of all the consumers
+        event.addBean().types(DispatchMetrics.class, Object.class).addQualifiers(Any.Literal.INSTANCE, Default.Literal.INSTANCE).scope(ApplicationScoped.class)
+                .createWith(c -> metrics);
         if (vertx == null) {
             // Do no register beans - no Vertx instance available during bootstrap
             return;
@@ -130,43 +311,388 @@ public class VertxExtension implements Extension {
                 .scope(ApplicationScoped.class).createWith(c -> context);
     }
 
-    public void registerConsumersAfterDeploymentValidation(@Observes AfterDeploymentValidation afterDeploymentValidation, BeanManager beanManager) {
+    // Beans are instantiated here, i.e. other extensions (e.g. Probe) must be initialized first - with concurrent deployment the order of observers with
+    // the same priority is not stable
+    public void registerConsumersAfterDeploymentValidation(@Observes @Priority(Interceptor.Priority.LIBRARY_AFTER) AfterDeploymentValidation afterDeploymentValidation, BeanManager beanManager) {
+        // Used to resolve the observer methods for each address
+        this.beanManager = BeanManagerProxy.unwrap(beanManager);
+        for (AsyncReferencePlan.Key key : asyncReferenceKeys) {
+            asyncReferencePlans.computeIfAbsent(key, k -> AsyncReferencePlan.create(this.beanManager, k));
+        }
+        asyncReferenceKeys.clear();
         if (vertx != null) {
-            registerConsumers(vertx, BeanManagerProxy.unwrap(beanManager).event());
+            registerCodecs(vertx);
+            initAsyncReferenceResolution(vertx);
+            if (asyncRegistration) {
+                // Deferred consumers are registered later - see registerDeferredConsumers()
+                consumerRegistration = registerConsumers(vertx, this.beanManager.event(), c -> !c.deferred());
+            } else {
+                registerConsumers(vertx, this.beanManager.event());
+            }
         }
         asyncReferenceQualifiers.clear();
     }
 
+    /**
+     * Register consumers for all the addresses found and wait until all the consumers are registered.
+     *
+     * @param vertx
+     * @param event
+     * @throws IllegalStateException If the consumers are not registered within the timeout or if a registration fails
+     * @see #CONSUMER_REGISTRATION_TIMEOUT_KEY
+     */
     public void registerConsumers(Vertx vertx, Event<Object> event) {
-        CountDownLatch latch = new CountDownLatch(consumerAddresses.size());
-        for (String address : consumerAddresses) {
-            MessageConsumer<?> consumer = vertx.eventBus().consumer(address, VertxHandler.from(vertx, event, address));
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<AsyncResult<Void>> result = new AtomicReference<>();
+        registerConsumersAsync(vertx, event).setHandler(r -> {
+            result.set(r);
+            latch.countDown();
+        });
+        long timeout = getRegistrationTimeout(vertx);
+        try {
+            if (!latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(String.format("Message consumers not registered within %s ms", timeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (result.get().failed()) {
+            throw new IllegalStateException("Unable to register message consumers", result.get().cause());
+        }
+    }
+
+    /**
+     * Register consumers for all the addresses found. This method does not block - all the consumers are registered in parallel.
+     *
+     * @param vertx
+     * @param event
+     * @return a future completed when all the consumers are registered, or failed if a registration fails or the consumers are not registered within the
+     *         timeout
+     * @see #CONSUMER_REGISTRATION_TIMEOUT_KEY
+     */
+    public Future<Void> registerConsumersAsync(Vertx vertx, Event<Object> event) {
+        registerCodecs(vertx);
+        return registerConsumers(vertx, event, c -> true);
+    }
+
+    /**
+     *
+     * @return the registration of non-deferred consumers started during bootstrap
+     */
+    Future<Void> getConsumerRegistration() {
+        return consumerRegistration != null ? consumerRegistration : Future.succeededFuture();
+    }
+
+    /**
+     *
+     * @return the registration of deferred consumers
+     */
+    Future<Void> registerDeferredConsumers() {
+        if (vertx == null || beanManager == null) {
+            return Future.succeededFuture();
+        }
+        return registerConsumers(vertx, beanManager.event(), VertxConsumer::deferred);
+    }
+
+    private Future<Void> registerConsumers(Vertx vertx, Event<Object> event, Predicate<VertxConsumer> filter) {
+        Context context = getContext(vertx);
+        boolean directInvocation = context != null ? context.config().getBoolean(CONSUMER_DIRECT_INVOCATION_KEY, true) : true;
+        @SuppressWarnings("rawtypes")
+        List<Future> registrations = new ArrayList<>();
+        for (VertxConsumer vertxConsumer : consumerAddresses.values()) {
+            if (!filter.test(vertxConsumer)) {
+                continue;
+            }
+            String address = vertxConsumer.value();
+            if (DispatchMode.VIRTUAL.equals(vertxConsumer.mode()) && !VirtualThreads.isSupported()) {
+                LOGGER.warn("Virtual threads not supported - the consumer for {0} uses worker threads instead", address);
+            }
+            if (vertxConsumer.maxQueueWait() > 0 && DispatchMode.EVENT_LOOP.equals(vertxConsumer.mode())) {
+                LOGGER.warn("Max queue wait ignored - the consumer for {0} uses the event-loop thread", address);
+            }
+            // A local consumer is not propagated across the cluster
+            MessageConsumer<Object> consumer = vertxConsumer.local() ? vertx.eventBus().localConsumer(address) : vertx.eventBus().consumer(address);
+            if (vertxConsumer.maxBufferedMessages() > 0) {
+                consumer.setMaxBufferedMessages(vertxConsumer.maxBufferedMessages());
+            }
+            ConsumerNotifier<VertxEvent> notifier = ConsumerNotifier.of(VertxEvent.class, address, event, beanManager, directInvocation);
+            ConsumerNotifier<VertxBatchEvent> batchNotifier = batchObserverAddresses.contains(address)
+                    ? ConsumerNotifier.of(VertxBatchEvent.class, address, event, beanManager, directInvocation)
+                    : null;
+            Future<Void> registration = Future.future();
+            registrations.add(registration);
+            consumer.handler(VertxHandler.from(vertx, vertxConsumer, consumer, notifier, batchNotifier, createWorkerExecutor(vertx, vertxConsumer),
+                    asyncObserverAddresses.contains(address), metrics.getOrCreate(address), bodyConverters));
             consumer.completionHandler(ar -> {
                 if (ar.succeeded()) {
                     LOGGER.debug("Sucessfully registered event consumer for {0}", address);
-                    latch.countDown();
                 } else {
                     LOGGER.error("Cannot register event consumer for {0}", ar.cause(), address);
                 }
+                registration.handle(ar);
             });
         }
+        if (registrations.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        Future<Void> result = Future.future();
+        long timeout = getRegistrationTimeout(vertx);
+        long timerId = vertx.setTimer(timeout, id -> {
+            int registered = 0;
+            for (Future<?> registration : registrations) {
+                if (registration.succeeded()) {
+                    registered++;
+                }
+            }
+            result.tryFail(new IllegalStateException(
+                    String.format("Message consumers not registered within %s ms [registered: %s, total: %s]", timeout, registered, registrations.size())));
+        });
+        CompositeFuture.all(registrations).setHandler(ar -> {
+            vertx.cancelTimer(timerId);
+            if (ar.succeeded()) {
+                result.tryComplete();
+            } else {
+                result.tryFail(ar.cause());
+            }
+        });
+        return result;
+    }
+
+    private synchronized void registerCodecs(Vertx vertx) {
+        if (codecVertx != null || beanManager == null) {
+            // Already registered
+            return;
+        }
+        codecVertx = vertx;
+        try {
+            vertx.eventBus().registerCodec(new ReadOnlyBufferCodec());
+        } catch (IllegalStateException e) {
+            // Already registered, e.g. by another container using the same Vertx instance
+            LOGGER.debug("Message codec {0} already registered", ReadOnlyBufferCodec.NAME);
+        }
+        for (Map.Entry<Class<?>, Bean<?>> entry : codecBeans.entrySet()) {
+            Bean<?> bean = entry.getValue();
+            MessageCodec<?, ?> codec = (MessageCodec<?, ?>) beanManager.getReference(bean, getCodecType(bean), beanManager.createCreationalContext(bean));
+            try {
+                registerDefaultCodec(vertx, entry.getKey(), codec);
+                registeredCodecs.add(entry.getKey());
+                LOGGER.debug("Registered default message codec {0} for {1}", codec.name(), entry.getKey().getName());
+            } catch (IllegalStateException e) {
+                // A default codec is already registered for the given type
+                LOGGER.warn("Message codec {0} not registered for {1}: {2}", codec.name(), entry.getKey().getName(), e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void registerDefaultCodec(Vertx vertx, Class<T> messageType, MessageCodec<?, ?> codec) {
+        vertx.eventBus().registerDefaultCodec(messageType, (MessageCodec<T, ?>) codec);
+    }
+
+    synchronized void unregisterCodecs(@Observes BeforeShutdown event) {
+        if (codecVertx == null) {
+            return;
+        }
+        for (Class<?> messageType : registeredCodecs) {
+            codecVertx.eventBus().unregisterDefaultCodec(messageType);
+        }
+        registeredCodecs.clear();
+        codecVertx = null;
+    }
+
+    private ParameterizedType getCodecType(Bean<?> bean) {
+        for (Type type : bean.getTypes()) {
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) type;
+                if (MessageCodec.class.equals(parameterizedType.getRawType())) {
+                    Type[] arguments = parameterizedType.getActualTypeArguments();
+                    // Only MessageCodec<T, T> is supported
+                    if (arguments[0] instanceof Class && arguments[0].equals(arguments[1])) {
+                        return parameterizedType;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Context getContext(Vertx vertx) {
         Context context = this.context;
         if (context == null && vertx != null) {
             context = vertx.getOrCreateContext();
         }
-        long timeout = context != null ? context.config().getLong(CONSUMER_REGISTRATION_TIMEOUT_KEY, DEFAULT_CONSUMER_REGISTRATION_TIMEOUT)
+        return context;
+    }
+
+    private long getRegistrationTimeout(Vertx vertx) {
+        Context context = getContext(vertx);
+        return context != null ? context.config().getLong(CONSUMER_REGISTRATION_TIMEOUT_KEY, DEFAULT_CONSUMER_REGISTRATION_TIMEOUT)
                 : DEFAULT_CONSUMER_REGISTRATION_TIMEOUT;
-        try {
-            if (!latch.await(timeout, TimeUnit.MILLISECONDS)) {
-                throw new IllegalStateException(String.format("Message consumers not registered within %s ms [registered: %s, total: %s]", timeout,
-                        latch.getCount(), consumerAddresses.size()));
+    }
+
+    /**
+     *
+     * @return the worker executor used to resolve the {@link AsyncReference}s, or <code>null</code> if the default worker pool should be used
+     * @see #ASYNC_REFERENCE_WORKER_POOL_KEY
+     */
+    WorkerExecutor getAsyncReferenceExecutor() {
+        return asyncReferenceExecutor;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the {@link AsyncReference}s should be resolved one at a time
+     * @see #ASYNC_REFERENCE_ORDERED_KEY
+     */
+    boolean isAsyncReferenceOrdered() {
+        return asyncReferenceOrdered;
+    }
+
+    /**
+     * The plans for all the {@link AsyncReference} injection points are built after the deployment is validated. Other plans (e.g. for
+     * {@link javax.enterprise.inject.Instance#select(Class, Annotation...)}) are built lazily.
+     *
+     * @param key
+     * @param beanManager
+     * @return the resolution plan
+     */
+    AsyncReferencePlan getAsyncReferencePlan(AsyncReferencePlan.Key key, BeanManager beanManager) {
+        AsyncReferencePlan plan = asyncReferencePlans.get(key);
+        if (plan == null) {
+            plan = asyncReferencePlans.computeIfAbsent(key, k -> AsyncReferencePlan.create(beanManager, k));
+        }
+        return plan;
+    }
+
+    /**
+     *
+     * @return the initialization of eager beans
+     * @see Eager
+     */
+    Future<Void> initializeEagerBeans() {
+        if (vertx == null || beanManager == null || eagerBeans.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        return EagerBeans.initialize(vertx, beanManager, eagerBeans);
+    }
+
+    DispatchMetricsImpl getMetrics() {
+        return metrics;
+    }
+
+    private boolean isEagerByConfig(ProcessBean<?> event) {
+        if (context == null || !(event instanceof ProcessManagedBean)) {
+            return false;
+        }
+        JsonArray eagerBeanClasses = context.config().getJsonArray(EAGER_BEANS_KEY);
+        return eagerBeanClasses != null && eagerBeanClasses.contains(event.getBean().getBeanClass().getName());
+    }
+
+    private void initAsyncReferenceResolution(Vertx vertx) {
+        Context context = getContext(vertx);
+        if (context == null) {
+            return;
+        }
+        asyncReferenceOrdered = context.config().getBoolean(ASYNC_REFERENCE_ORDERED_KEY, false);
+        String workerPool = context.config().getString(ASYNC_REFERENCE_WORKER_POOL_KEY);
+        if (workerPool != null && !workerPool.isEmpty()) {
+            int poolSize = context.config().getInteger(ASYNC_REFERENCE_WORKER_POOL_SIZE_KEY, VertxOptions.DEFAULT_WORKER_POOL_SIZE);
+            VertxConsumer sizeDefinition = workerPoolSizes.get(workerPool);
+            if (sizeDefinition != null && sizeDefinition.workerPoolSize() != poolSize) {
+                LOGGER.warn("Worker pool {0} is also used by the consumer for {1} - the size {2} declared by the consumer may be ignored", workerPool,
+                        sizeDefinition.value(), sizeDefinition.workerPoolSize());
+            }
+            asyncReferenceExecutor = vertx.createSharedWorkerExecutor(workerPool, poolSize);
+            workerExecutors.add(asyncReferenceExecutor);
+            LOGGER.debug("Worker pool {0} [size: {1}] used to resolve async references", workerPool, poolSize);
+        }
+    }
+
+    void clearAsyncReferencePlans(@Observes BeforeShutdown event) {
+        asyncReferencePlans.clear();
+    }
+
+    void clearBodyConverters(@Observes BeforeShutdown event) {
+        // The converters reference application classes
+        bodyConverters.clear();
+    }
+
+    void closeWorkerExecutors(@Observes BeforeShutdown event) {
+        for (WorkerExecutor workerExecutor : workerExecutors) {
+            workerExecutor.close();
+        }
+        workerExecutors.clear();
+        asyncReferenceExecutor = null;
+    }
+
+    private void addConsumer(ProcessObserverMethod<?, ?> event, VertxConsumer consumer) {
+        if (event.getObserverMethod().isAsync()) {
+            asyncObserverAddresses.add(consumer.value());
+        }
+        if (eventObserverAddresses.contains(consumer.value()) && batchObserverAddresses.contains(consumer.value())) {
+            event.addDefinitionError(new DefinitionException(String.format(
+                    "Both VertxEvent and VertxBatchEvent observed for address %s: %s", consumer.value(), event.getObserverMethod())));
+            return;
+        }
+        if (!consumer.workerPool().isEmpty()) {
+            addWorkerPool(event, consumer);
+        }
+        VertxConsumer existing = consumerAddresses.get(consumer.value());
+        if (existing == null || isDefault(existing)) {
+            consumerAddresses.put(consumer.value(), consumer);
+        } else if (!isDefault(consumer) && !existing.equals(consumer)) {
+            event.addDefinitionError(new DefinitionException(
+                    String.format("Inconsistent consumer configuration for address %s: %s declared by %s conflicts with %s", consumer.value(), consumer,
+                            event.getObserverMethod(), existing)));
+        }
+    }
+
+    private void addWorkerPool(ProcessObserverMethod<?, ?> event, VertxConsumer consumer) {
+        // A shared worker pool is only created once, i.e. the size and the max execute time of any subsequent definition would be ignored
+        if (consumer.workerPoolSize() > 0) {
+            VertxConsumer existing = workerPoolSizes.putIfAbsent(consumer.workerPool(), consumer);
+            if (existing != null && existing.workerPoolSize() != consumer.workerPoolSize()) {
+                addWorkerPoolDefinitionError(event, consumer, existing);
+            }
+        }
+        if (consumer.maxWorkerExecuteTime() > 0) {
+            VertxConsumer existing = workerPoolMaxExecuteTimes.putIfAbsent(consumer.workerPool(), consumer);
+            if (existing != null && existing.maxWorkerExecuteTime() != consumer.maxWorkerExecuteTime()) {
+                addWorkerPoolDefinitionError(event, consumer, existing);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
         }
     }
 
+    private void addWorkerPoolDefinitionError(ProcessObserverMethod<?, ?> event, VertxConsumer consumer, VertxConsumer existing) {
+        event.addDefinitionError(new DefinitionException(String.format("Inconsistent definition of worker pool %s: %s declared by %s conflicts with %s",
+                consumer.workerPool(), consumer, event.getObserverMethod(), existing)));
+    }
+
+    private WorkerExecutor createWorkerExecutor(Vertx vertx, VertxConsumer consumer) {
+        if (consumer.workerPool().isEmpty()) {
+            return null;
+        }
+        if (DispatchMode.EVENT_LOOP.equals(consumer.mode())) {
+            LOGGER.warn("Worker pool {0} ignored - the consumer for {1} uses the event-loop thread", consumer.workerPool(), consumer.value());
+            return null;
+        }
+        if (DispatchMode.VIRTUAL.equals(consumer.mode()) && VirtualThreads.isSupported()) {
+            LOGGER.debug("Worker pool {0} ignored - the consumer for {1} uses virtual threads", consumer.workerPool(), consumer.value());
+            return null;
+        }
+        // Other consumers may declare the size and the max execute time of the shared pool
+        VertxConsumer sizeDefinition = workerPoolSizes.get(consumer.workerPool());
+        VertxConsumer maxExecuteTimeDefinition = workerPoolMaxExecuteTimes.get(consumer.workerPool());
+        int poolSize = sizeDefinition != null ? sizeDefinition.workerPoolSize() : VertxOptions.DEFAULT_WORKER_POOL_SIZE;
+        long maxExecuteTime = maxExecuteTimeDefinition != null ? TimeUnit.MILLISECONDS.toNanos(maxExecuteTimeDefinition.maxWorkerExecuteTime())
+                : VertxOptions.DEFAULT_MAX_WORKER_EXECUTE_TIME;
+        WorkerExecutor workerExecutor = vertx.createSharedWorkerExecutor(consumer.workerPool(), poolSize, maxExecuteTime);
+        workerExecutors.add(workerExecutor);
+        LOGGER.debug("Worker pool {0} [size: {1}] used for {2}", consumer.workerPool(), poolSize, consumer.value());
+        return workerExecutor;
+    }
+
     private Set<Type> getBeanTypes(Class<?> implClazz, Type... types) {
         Set<Type> beanTypes = new HashSet<>();
         Collections.addAll(beanTypes, types);
@@ -176,9 +702,14 @@ public class VertxExtension implements Extension {
         return beanTypes;
     }
 
-    private String getVertxAddress(ObserverMethod<?> observerMethod) {
+    private VertxConsumer getVertxConsumer(ObserverMethod<?> observerMethod) {
         Annotation qualifier = getQualifier(observerMethod, VertxConsumer.class);
-        return qualifier != null ? ((VertxConsumer) qualifier).value() : null;
+        return qualifier != null ? (VertxConsumer) qualifier : null;
+    }
+
+    private boolean isDefault(VertxConsumer consumer) {
+        // All non-binding members have the default value
+        return VertxConsumer.Literal.of(consumer.value()).equals(consumer);
     }
 
     private Annotation getQualifier(ObserverMethod<?> observerMethod, Class<? extends Annotation> annotationType) {
@@ -1,59 +1,646 @@
 package org.jboss.weld.vertx;
 
-import javax.enterprise.event.Event;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.enterprise.inject.Vetoed;
 
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 
 /**
  * An instance of this handler is registered per each address found by {@link org.jboss.weld.vertx.VertxExtension}}.
+ * <p>
+ * This is a hot path - the observer methods are resolved once per address (see {@link ConsumerNotifier}) and the per-message garbage is kept to a minimum.
+ * If the message was sent without a reply handler, no result is processed at all, i.e. there is no hop back to the context of the consumer.
+ * </p>
+ * <p>
+ * If batching is used the messages are collected on the context of the consumer, i.e. a batch is never accessed concurrently.
+ * </p>
+ * <p>
+ * If {@link VertxConsumer#maxInFlight()} is set the consumer is paused when the limit is reached and resumed as soon as a message is replied (or a reply stream is ended).
+ * </p>
  *
  * @author Martin Kouba
  */
 @Vetoed
 class VertxHandler implements Handler<Message<Object>> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(VertxHandler.class.getName());
+
+    private static final String DEADLINE_EXCEEDED = "Deadline exceeded";
+
+    private static final String OVERLOADED = "Consumer overloaded";
+
     private final Vertx vertx;
 
-    private final Event<VertxEvent> event;
+    private final EventBus eventBus;
+
+    private final MessageConsumer<Object> consumer;
+
+    private final String address;
+
+    private final ConsumerNotifier<VertxEvent> notifier;
+
+    // Null if batching is not used
+    private final ConsumerNotifier<VertxBatchEvent> batchNotifier;
+
+    private final DispatchMode mode;
+
+    // Null if the default worker pool is used
+    private final WorkerExecutor workerExecutor;
+
+    private final boolean hasAsyncObservers;
+
+    // Null if WORKER_KEYED is not used
+    private final SerialExecutor[] stripes;
+
+    private final String keyHeader;
+
+    // Shared by all the messages
+    private final Handler<AsyncResult<VertxEventImpl>> resultHandler;
+
+    private final int batchSize;
+
+    private final long batchTimeout;
+
+    private List<Message<Object>> batch;
+
+    private long batchTimerId;
+
+    private final int maxInFlight;
+
+    // Guarded by this
+    private int inFlight;
+
+    // Guarded by this
+    private boolean paused;
+
+    // In nanoseconds, 0 if load shedding is not used
+    private final long maxQueueWait;
+
+    // The number of messages processed concurrently
+    private final int concurrency;
+
+    // The number of messages waiting for a worker thread
+    private final AtomicInteger queued;
+
+    // Exponential moving average in nanoseconds, updated without synchronization
+    private volatile long serviceTime;
+
+    private final ConsumerMetricsImpl metrics;
+
+    private final boolean deadlines;
 
-    static VertxHandler from(Vertx vertx, Event<Object> event, String address) {
-        return new VertxHandler(vertx, event.select(VertxEvent.class, VertxConsumer.Literal.of(address)));
+    private final long keyedTimeout;
+
+    private final BodyConverters bodyConverters;
+
+    static VertxHandler from(Vertx vertx, VertxConsumer vertxConsumer, MessageConsumer<Object> consumer, ConsumerNotifier<VertxEvent> notifier,
+            ConsumerNotifier<VertxBatchEvent> batchNotifier, WorkerExecutor workerExecutor, boolean hasAsyncObservers, ConsumerMetricsImpl metrics,
+            BodyConverters bodyConverters) {
+        return new VertxHandler(vertx, vertxConsumer, consumer, notifier, batchNotifier, workerExecutor, hasAsyncObservers, metrics, bodyConverters);
     }
 
-    private VertxHandler(Vertx vertx, Event<VertxEvent> event) {
+    private VertxHandler(Vertx vertx, VertxConsumer vertxConsumer, MessageConsumer<Object> consumer, ConsumerNotifier<VertxEvent> notifier,
+            ConsumerNotifier<VertxBatchEvent> batchNotifier, WorkerExecutor workerExecutor, boolean hasAsyncObservers, ConsumerMetricsImpl metrics,
+            BodyConverters bodyConverters) {
         this.vertx = vertx;
-        this.event = event;
+        this.eventBus = vertx.eventBus();
+        this.consumer = consumer;
+        this.address = vertxConsumer.value();
+        this.notifier = notifier;
+        this.batchNotifier = batchNotifier;
+        this.mode = vertxConsumer.mode();
+        this.workerExecutor = workerExecutor;
+        this.hasAsyncObservers = hasAsyncObservers;
+        this.keyHeader = vertxConsumer.keyHeader().isEmpty() ? null : vertxConsumer.keyHeader();
+        this.stripes = DispatchMode.WORKER_KEYED.equals(mode) ? createStripes(vertxConsumer) : null;
+        this.resultHandler = this::processResult;
+        this.batchSize = vertxConsumer.batchSize() > 0 ? vertxConsumer.batchSize() : VertxBatchEvent.DEFAULT_BATCH_SIZE;
+        this.batchTimeout = vertxConsumer.batchTimeout() > 0 ? vertxConsumer.batchTimeout() : VertxBatchEvent.DEFAULT_BATCH_TIMEOUT;
+        this.batchTimerId = -1;
+        this.maxInFlight = vertxConsumer.maxInFlight();
+        this.maxQueueWait = vertxConsumer.maxQueueWait() > 0 && !DispatchMode.EVENT_LOOP.equals(mode) && batchNotifier == null
+                ? TimeUnit.MILLISECONDS.toNanos(vertxConsumer.maxQueueWait())
+                : 0;
+        this.concurrency = getConcurrency(vertxConsumer);
+        this.queued = new AtomicInteger();
+        this.metrics = metrics;
+        this.deadlines = vertxConsumer.deadlines();
+        this.bodyConverters = bodyConverters;
+        this.keyedTimeout = vertxConsumer.keyedTimeout() > 0 ? vertxConsumer.keyedTimeout() : DeliveryOptions.DEFAULT_TIMEOUT;
     }
 
     @Override
     public void handle(Message<Object> message) {
-        // Notification is potentially a blocking code
-        // The execution of the blocking code is not ordered - see Vertx.executeBlocking(Handler<Future<T>>, boolean, Handler<AsyncResult<T>>) javadoc
-        vertx.<Object> executeBlocking(future -> {
-            VertxEventImpl vertxEvent = new VertxEventImpl(message, vertx.eventBus());
-            try {
-                // Synchronously notify all the observer methods for a specific address
-                event.fire(vertxEvent);
-                future.complete(vertxEvent.getReply());
-            } catch (Exception e) {
-                future.fail(e);
+        metrics.received();
+        if (maxInFlight > 0) {
+            acquire();
+        }
+        if (batchNotifier != null) {
+            if (deadlines && VertxEventImpl.isExpired(VertxEventImpl.getDeadline(message))) {
+                dropExpired(message);
+                return;
+            }
+            addToBatch(message);
+            return;
+        }
+        VertxEventImpl vertxEvent = new VertxEventImpl(message, eventBus, bodyConverters, deadlines);
+        if (vertxEvent.isExpired()) {
+            // The sender is not waiting for the reply anymore
+            dropExpired(message);
+            return;
+        }
+        if (maxQueueWait > 0) {
+            if (isOverloaded() && !isPriority(message)) {
+                // Fail fast instead of queueing
+                reject(message);
+                return;
+            }
+            queued.incrementAndGet();
+        }
+        vertxEvent.setDispatchTime(System.nanoTime());
+        // Nothing to do after the notification if no reply is expected and the in-flight messages are not tracked - only the failures are recorded
+        Handler<AsyncResult<VertxEventImpl>> resultHandler = message.replyAddress() != null || maxInFlight > 0 ? this.resultHandler : null;
+        vertxEvent.setOneWay(resultHandler == null && mode != DispatchMode.WORKER_KEYED);
+        switch (mode) {
+            case EVENT_LOOP:
+                // Observer methods must not block
+                if (hasAsyncObservers) {
+                    Future<VertxEventImpl> eventLoopFuture = Future.future();
+                    if (resultHandler != null) {
+                        eventLoopFuture.setHandler(resultHandler);
+                    }
+                    notify(vertxEvent, eventLoopFuture);
+                } else {
+                    fire(vertxEvent);
+                    if (resultHandler != null) {
+                        processResult(vertxEvent);
+                    } else {
+                        recordOneWay(vertxEvent);
+                    }
+                }
+                break;
+            case WORKER_ORDERED:
+                // Notification is potentially a blocking code
+                executeBlocking(future -> notify(vertxEvent, future), true, resultHandler);
+                break;
+            case WORKER_UNORDERED:
+                // The execution of the blocking code is not ordered - see Vertx.executeBlocking(Handler<Future<T>>, boolean, Handler<AsyncResult<T>>) javadoc
+                executeBlocking(future -> notify(vertxEvent, future), false, resultHandler);
+                break;
+            case WORKER_KEYED:
+                // Messages with the same key are processed serially - the stripe is only released once the message is completely processed, i.e.
+                // including asynchronous observers, asynchronous replies and reply streams
+                Context keyedContext = vertx.getOrCreateContext();
+                getStripe(message).executeAsync(done -> {
+                    // Do not block the stripe forever, e.g. if an asynchronous reply is never completed
+                    long timeout = Math.min(keyedTimeout, vertxEvent.getRemainingTime());
+                    long timerId = vertx.setTimer(Math.max(1, timeout), id -> {
+                        LOGGER.warn("Message not processed within {0} ms - stripe released: {1}", timeout, address);
+                        done.run();
+                    });
+                    vertxEvent.setCompletionCallback(() -> {
+                        vertx.cancelTimer(timerId);
+                        runOnContext(keyedContext, done);
+                    });
+                    Future<VertxEventImpl> keyedFuture = Future.future();
+                    keyedFuture.setHandler(result -> keyedContext.runOnContext(v -> processResult(vertxEvent, result)));
+                    notify(vertxEvent, keyedFuture);
+                });
+                break;
+            case VIRTUAL:
+                if (VirtualThreads.isSupported()) {
+                    // The reply is sent from the original context
+                    Context context = vertx.getOrCreateContext();
+                    VirtualThreads.execute(() -> {
+                        Future<VertxEventImpl> virtualFuture = Future.future();
+                        if (resultHandler != null) {
+                            virtualFuture.setHandler(result -> context.runOnContext(v -> resultHandler.handle(result)));
+                        }
+                        notify(vertxEvent, virtualFuture);
+                    });
+                } else {
+                    executeBlocking(future -> notify(vertxEvent, future), false, resultHandler);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported dispatch mode: " + mode);
+        }
+    }
+
+    private void addToBatch(Message<Object> message) {
+        if (batch == null) {
+            batch = new ArrayList<>(batchSize);
+            batchTimerId = vertx.setTimer(batchTimeout, id -> {
+                batchTimerId = -1;
+                flushBatch();
+            });
+        }
+        batch.add(message);
+        if (batch.size() >= batchSize) {
+            if (batchTimerId != -1) {
+                vertx.cancelTimer(batchTimerId);
+                batchTimerId = -1;
             }
-        }, false, result -> {
+            flushBatch();
+        }
+    }
+
+    private void flushBatch() {
+        List<Message<Object>> messages = batch;
+        batch = null;
+        if (messages == null) {
+            return;
+        }
+        if (deadlines) {
+            // Messages may expire while the batch is collected
+            for (Iterator<Message<Object>> iterator = messages.iterator(); iterator.hasNext();) {
+                Message<Object> message = iterator.next();
+                if (VertxEventImpl.isExpired(VertxEventImpl.getDeadline(message))) {
+                    iterator.remove();
+                    dropExpired(message);
+                }
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        VertxBatchEventImpl batchEvent = new VertxBatchEventImpl(address, messages, eventBus, bodyConverters, deadlines);
+        long dispatchTime = System.nanoTime();
+        Handler<Future<VertxBatchEventImpl>> action = future -> notifyBatch(batchEvent, dispatchTime, future);
+        Handler<AsyncResult<VertxBatchEventImpl>> batchResultHandler = result -> {
             if (result.succeeded()) {
-                message.reply(result.result());
+                for (VertxEvent event : batchEvent.getEvents()) {
+                    processResult((VertxEventImpl) event);
+                }
             } else {
-                Throwable cause = result.cause();
-                if (cause instanceof RecipientFailure) {
-                    RecipientFailure recipientFailure = (RecipientFailure) cause;
-                    message.fail(recipientFailure.code, recipientFailure.getMessage());
+                // An observer method failed - fail all the messages of the batch
+                for (Message<Object> message : messages) {
+                    processFailure(message, result.cause());
+                }
+            }
+        };
+        switch (mode) {
+            case EVENT_LOOP:
+                Future<VertxBatchEventImpl> eventLoopFuture = Future.future();
+                eventLoopFuture.setHandler(batchResultHandler);
+                action.handle(eventLoopFuture);
+                break;
+            case WORKER_ORDERED:
+            case WORKER_KEYED:
+                // Batches are always processed serially
+                executeBlocking(action, true, batchResultHandler);
+                break;
+            case WORKER_UNORDERED:
+                executeBlocking(action, false, batchResultHandler);
+                break;
+            case VIRTUAL:
+                if (VirtualThreads.isSupported()) {
+                    Context context = vertx.getOrCreateContext();
+                    VirtualThreads.execute(() -> {
+                        Future<VertxBatchEventImpl> virtualFuture = Future.future();
+                        virtualFuture.setHandler(result -> context.runOnContext(v -> batchResultHandler.handle(result)));
+                        action.handle(virtualFuture);
+                    });
                 } else {
-                    message.fail(VertxEvent.OBSERVER_FAILURE_CODE, cause.getMessage());
+                    executeBlocking(action, false, batchResultHandler);
                 }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported dispatch mode: " + mode);
+        }
+    }
+
+    private SerialExecutor getStripe(Message<Object> message) {
+        Object key = keyHeader != null ? message.headers().get(keyHeader) : null;
+        if (key == null) {
+            key = message.body();
+        }
+        return stripes[key != null ? (key.hashCode() & Integer.MAX_VALUE) % stripes.length : 0];
+    }
+
+    private SerialExecutor[] createStripes(VertxConsumer vertxConsumer) {
+        int count = vertxConsumer.stripes() > 0 ? vertxConsumer.stripes()
+                : (vertxConsumer.workerPoolSize() > 0 ? vertxConsumer.workerPoolSize() : VertxOptions.DEFAULT_WORKER_POOL_SIZE);
+        // Each task is executed using a worker thread, the tasks of a stripe are not executed concurrently
+        Executor worker = task -> executeBlocking(future -> {
+            task.run();
+            future.complete();
+        }, false, null);
+        SerialExecutor[] stripes = new SerialExecutor[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new SerialExecutor(worker);
+        }
+        return stripes;
+    }
+
+    private <T> void executeBlocking(Handler<Future<T>> action, boolean ordered, Handler<AsyncResult<T>> resultHandler) {
+        if (workerExecutor != null) {
+            workerExecutor.executeBlocking(action, ordered, resultHandler);
+        } else {
+            vertx.executeBlocking(action, ordered, resultHandler);
+        }
+    }
+
+    private long fire(VertxEventImpl vertxEvent) {
+        long start = System.nanoTime();
+        try {
+            // Synchronously notify all the observer methods for a specific address
+            notifier.fire(vertxEvent);
+        } catch (Exception e) {
+            vertxEvent.setObserverFailure(e);
+        }
+        long elapsed = System.nanoTime() - start;
+        metrics.executionTime(elapsed);
+        return elapsed;
+    }
+
+    private void notify(VertxEventImpl vertxEvent, Future<VertxEventImpl> future) {
+        if (maxQueueWait > 0) {
+            queued.decrementAndGet();
+        }
+        metrics.queueWait(System.nanoTime() - vertxEvent.getDispatchTime());
+        if (vertxEvent.isExpired()) {
+            // Expired while waiting for a worker thread - the message is dropped in processResult()
+            complete(vertxEvent, future);
+            return;
+        }
+        long elapsed = fire(vertxEvent);
+        if (maxQueueWait > 0) {
+            long current = serviceTime;
+            // Smoothing factor 1/8, the first sample is used as is
+            serviceTime = current == 0 ? elapsed : current + ((elapsed - current) >> 3);
+        }
+        if (hasAsyncObservers && vertxEvent.getFailure() == null) {
+            // Asynchronous observers are notified after all the synchronous observers
+            // Null if notified from a virtual thread
+            Context context = Vertx.currentContext();
+            notifier.fireAsync(vertxEvent).whenComplete((e, failure) -> runOnContext(context, () -> {
+                if (failure != null) {
+                    vertxEvent.setObserverFailure(unwrap(failure));
+                }
+                complete(vertxEvent, future);
+            }));
+        } else {
+            complete(vertxEvent, future);
+        }
+    }
+
+    private void complete(VertxEventImpl vertxEvent, Future<VertxEventImpl> future) {
+        if (vertxEvent.isOneWay()) {
+            recordOneWay(vertxEvent);
+        }
+        future.complete(vertxEvent);
+    }
+
+    private void recordOneWay(VertxEventImpl vertxEvent) {
+        // The result is not processed - record the failure directly
+        if (vertxEvent.isExpired()) {
+            failed(VertxEvent.DEADLINE_EXCEEDED_CODE);
+        } else if (vertxEvent.getFailure() != null) {
+            failed(getFailureCode(vertxEvent.getFailure()));
+        }
+    }
+
+    private void notifyBatch(VertxBatchEventImpl batchEvent, long dispatchTime, Future<VertxBatchEventImpl> future) {
+        // A batch is recorded as a single sample
+        long start = System.nanoTime();
+        metrics.queueWait(start - dispatchTime);
+        try {
+            try {
+                batchNotifier.fire(batchEvent);
+            } finally {
+                metrics.executionTime(System.nanoTime() - start);
+            }
+            if (hasAsyncObservers) {
+                Context context = Vertx.currentContext();
+                batchNotifier.fireAsync(batchEvent).whenComplete((e, failure) -> runOnContext(context, () -> {
+                    if (failure != null) {
+                        future.fail(unwrap(failure));
+                    } else {
+                        future.complete(batchEvent);
+                    }
+                }));
+            } else {
+                future.complete(batchEvent);
+            }
+        } catch (Exception e) {
+            future.fail(e);
+        }
+    }
+
+    private void processResult(AsyncResult<VertxEventImpl> result) {
+        if (result.succeeded()) {
+            processResult(result.result());
+        } else {
+            // Should never happen - exceptions thrown by observer methods are recorded by the event
+            LOGGER.error("Unable to notify observer methods for {0}", result.cause(), address);
+        }
+    }
+
+    private void processResult(VertxEventImpl vertxEvent, AsyncResult<VertxEventImpl> result) {
+        if (result.succeeded()) {
+            processResult(vertxEvent);
+        } else {
+            processResult(result);
+            vertxEvent.completed();
+        }
+    }
+
+    private void processResult(VertxEventImpl vertxEvent) {
+        Message<Object> message = vertxEvent.getMessage();
+        Throwable failure = vertxEvent.getFailure();
+        ReplyStreamImpl replyStream = vertxEvent.getReplyStream();
+        if (vertxEvent.isExpired()) {
+            if (replyStream != null) {
+                replyStream.fail(VertxEvent.DEADLINE_EXCEEDED_CODE, DEADLINE_EXCEEDED);
+            }
+            dropExpired(message);
+            vertxEvent.completed();
+            return;
+        }
+        if (failure != null) {
+            if (replyStream != null) {
+                replyStream.fail(failure);
+            }
+            processFailure(message, failure);
+            vertxEvent.completed();
+            return;
+        }
+        CompletionStage<?> asyncReply = vertxEvent.getAsyncReply();
+        if (replyStream != null) {
+            // The items are sent by the stream - only notify the sender that the stream is open
+            sendReply(message, null, new DeliveryOptions().addHeader(ReplyStreams.STREAM_STARTED_HEADER, Boolean.TRUE.toString()));
+            // The message is in flight until the stream is completed
+            replyStream.completionHandler(v -> {
+                if (maxInFlight > 0) {
+                    release();
+                }
+                vertxEvent.completed();
+            });
+            // A stream which is never ended must not hold the message forever
+            replyStream.startIdleCheck(vertx);
+        } else if (asyncReply != null) {
+            // The thread is not blocked until the reply is ready
+            Context context = Vertx.currentContext();
+            asyncReply.whenComplete((reply, replyFailure) -> runOnContext(context, () -> {
+                if (vertxEvent.isExpired()) {
+                    dropExpired(message);
+                } else if (replyFailure != null) {
+                    processFailure(message, unwrap(replyFailure));
+                } else {
+                    reply(message, reply);
+                }
+                vertxEvent.completed();
+            }));
+        } else {
+            reply(message, vertxEvent.getReply());
+            vertxEvent.completed();
+        }
+    }
+
+    private void reply(Message<Object> message, Object reply) {
+        sendReply(message, reply, null);
+        if (maxInFlight > 0) {
+            release();
+        }
+    }
+
+    private void sendReply(Message<Object> message, Object reply, DeliveryOptions options) {
+        if (message.replyAddress() != null) {
+            metrics.replied();
+            if (options != null) {
+                message.reply(reply, options);
+            } else {
+                message.reply(reply);
+            }
+        }
+    }
+
+    private void processFailure(Message<Object> message, Throwable cause) {
+        int code = getFailureCode(cause);
+        failed(code);
+        message.fail(code, cause.getMessage());
+        if (maxInFlight > 0) {
+            release();
+        }
+    }
+
+    private int getFailureCode(Throwable cause) {
+        return cause instanceof RecipientFailure ? ((RecipientFailure) cause).code : VertxEvent.OBSERVER_FAILURE_CODE;
+    }
+
+    private void failed(int code) {
+        // Recorded even if no reply is expected - Message.fail() is a noop then
+        metrics.failed(code);
+    }
+
+    private boolean isOverloaded() {
+        int waiting = queued.get();
+        return waiting > 0 && waiting * serviceTime / concurrency > maxQueueWait;
+    }
+
+    private boolean isPriority(Message<Object> message) {
+        String priority = message.headers().get(VertxEvent.PRIORITY_HEADER);
+        if (priority == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(priority) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void reject(Message<Object> message) {
+        LOGGER.trace("Message rejected - consumer overloaded: {0}", address);
+        failed(VertxEvent.OVERLOADED_CODE);
+        message.fail(VertxEvent.OVERLOADED_CODE, OVERLOADED);
+        if (maxInFlight > 0) {
+            release();
+        }
+    }
+
+    private int getConcurrency(VertxConsumer vertxConsumer) {
+        int poolSize = vertxConsumer.workerPoolSize() > 0 ? vertxConsumer.workerPoolSize() : VertxOptions.DEFAULT_WORKER_POOL_SIZE;
+        switch (mode) {
+            case WORKER_ORDERED:
+                return 1;
+            case WORKER_KEYED:
+                return Math.min(stripes.length, poolSize);
+            case VIRTUAL:
+                // Virtual threads are not pooled
+                return VirtualThreads.isSupported() ? Integer.MAX_VALUE : poolSize;
+            default:
+                return poolSize;
+        }
+    }
+
+    private void dropExpired(Message<Object> message) {
+        LOGGER.trace("Expired message dropped: {0}", address);
+        failed(VertxEvent.DEADLINE_EXCEEDED_CODE);
+        message.fail(VertxEvent.DEADLINE_EXCEEDED_CODE, DEADLINE_EXCEEDED);
+        if (maxInFlight > 0) {
+            release();
+        }
+    }
+
+    private synchronized void acquire() {
+        if (++inFlight >= maxInFlight && !paused) {
+            // Buffered messages are delivered once the consumer is resumed
+            paused = true;
+            consumer.pause();
+        }
+    }
+
+    private synchronized void release() {
+        if (--inFlight < maxInFlight && paused) {
+            paused = false;
+            consumer.resume();
+        }
+    }
+
+    private void runOnContext(Context context, Runnable action) {
+        // The stage may be completed on an arbitrary thread - make sure the reply is sent from the original context
+        if (context == null || context == Vertx.currentContext()) {
+            action.run();
+        } else {
+            context.runOnContext(v -> action.run());
+        }
+    }
+
+    private Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException) {
+            if (failure.getCause() != null) {
+                return failure.getCause();
+            }
+            // Exceptions thrown by asynchronous observers are suppressed
+            if (failure.getSuppressed().length > 0) {
+                return failure.getSuppressed()[0];
             }
-        });
+        }
+        return failure;
     }
 
-}
\ No newline at end of file
+}
@@ -16,15 +16,28 @@
  */
 package org.jboss.weld.vertx;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import javax.enterprise.inject.Vetoed;
 
 import org.jboss.weld.vertx.VertxEvent.VertxMessage;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
+import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
 
 @Vetoed
 class VertxMessageImpl implements VertxMessage {
@@ -35,9 +48,15 @@ class VertxMessageImpl implements VertxMessage {
 
     private DeliveryOptions deliveryOptions;
 
-    VertxMessageImpl(String address, EventBus eventBus) {
+    private boolean zeroCopy;
+
+    // 0 if no deadline is set
+    private long deadline;
+
+    VertxMessageImpl(String address, EventBus eventBus, long deadline) {
         this.address = address;
         this.eventBus = eventBus;
+        this.deadline = deadline;
     }
 
     @Override
@@ -46,10 +65,23 @@ class VertxMessageImpl implements VertxMessage {
         return this;
     }
 
+    @Override
+    public VertxMessage setZeroCopy(boolean zeroCopy) {
+        this.zeroCopy = zeroCopy;
+        return this;
+    }
+
+    @Override
+    public VertxMessage setTimeout(long timeout) {
+        this.deadline = System.currentTimeMillis() + timeout;
+        return this;
+    }
+
     @Override
     public void send(Object message) {
-        if (deliveryOptions != null) {
-            eventBus.send(address, message, deliveryOptions);
+        DeliveryOptions options = getDeliveryOptions(message);
+        if (options != null) {
+            eventBus.send(address, message, options);
         } else {
             eventBus.send(address, message);
         }
@@ -57,20 +89,126 @@ class VertxMessageImpl implements VertxMessage {
 
     @Override
     public void send(Object message, Handler<AsyncResult<Message<Object>>> replyHandler) {
-        if (deliveryOptions != null) {
-            eventBus.send(address, message, deliveryOptions, replyHandler);
-        } else {
-            eventBus.send(address, message, replyHandler);
+        send(message, getDeliveryOptions(message), replyHandler);
+    }
+
+    @Override
+    public <T> CompletionStage<Message<T>> request(Object message) {
+        CompletableFuture<Message<T>> reply = newFuture();
+        this.<T> send(message, getDeliveryOptions(message), r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        return reply;
+    }
+
+    @Override
+    public void sendAll(Iterable<?> messages) {
+        DeliveryOptions options = getDeliveryOptions(false);
+        DeliveryOptions bufferOptions = zeroCopy ? getDeliveryOptions(true) : options;
+        for (Object message : messages) {
+            DeliveryOptions messageOptions = message instanceof Buffer ? bufferOptions : options;
+            if (messageOptions != null) {
+                eventBus.send(address, message, messageOptions);
+            } else {
+                eventBus.send(address, message);
+            }
         }
     }
 
+    @Override
+    public <T> CompletionStage<List<Message<T>>> requestAll(Iterable<?> messages) {
+        List<Object> bodies = new ArrayList<>();
+        messages.forEach(bodies::add);
+        CompletableFuture<List<Message<T>>> result = newFuture();
+        if (bodies.isEmpty()) {
+            result.complete(Collections.emptyList());
+            return result;
+        }
+        // Reply handlers may be invoked on different threads if sent from a non-Vert.x thread
+        AtomicReferenceArray<Message<T>> replies = new AtomicReferenceArray<>(bodies.size());
+        AtomicInteger remaining = new AtomicInteger(bodies.size());
+        DeliveryOptions options = getDeliveryOptions(false);
+        DeliveryOptions bufferOptions = zeroCopy ? getDeliveryOptions(true) : options;
+        for (int i = 0; i < bodies.size(); i++) {
+            Object message = bodies.get(i);
+            int index = i;
+            this.<T> send(message, message instanceof Buffer ? bufferOptions : options, r -> {
+                if (r.succeeded()) {
+                    replies.set(index, r.result());
+                    if (remaining.decrementAndGet() == 0) {
+                        List<Message<T>> list = new ArrayList<>(replies.length());
+                        for (int j = 0; j < replies.length(); j++) {
+                            list.add(replies.get(j));
+                        }
+                        result.complete(list);
+                    }
+                } else {
+                    result.completeExceptionally(r.cause());
+                }
+            });
+        }
+        return result;
+    }
+
     @Override
     public void publish(Object message) {
-        if (deliveryOptions != null) {
-            eventBus.publish(address, message, deliveryOptions);
+        DeliveryOptions options = getDeliveryOptions(message);
+        if (options != null) {
+            eventBus.publish(address, message, options);
         } else {
             eventBus.publish(address, message);
         }
     }
 
-}
\ No newline at end of file
+    private <T> void send(Object message, DeliveryOptions options, Handler<AsyncResult<Message<T>>> replyHandler) {
+        if (options != null) {
+            eventBus.send(address, message, options, replyHandler);
+        } else {
+            eventBus.send(address, message, replyHandler);
+        }
+    }
+
+    private <T> CompletableFuture<T> newFuture() {
+        Context context = Vertx.currentContext();
+        // The async dependent actions are executed on the caller's context, null if called from a non-Vert.x thread
+        return context != null ? new VertxCompletableFuture<>(context) : new CompletableFuture<>();
+    }
+
+    private DeliveryOptions getDeliveryOptions(Object message) {
+        return getDeliveryOptions(message instanceof Buffer);
+    }
+
+    private DeliveryOptions getDeliveryOptions(boolean buffer) {
+        boolean zeroCopyBuffer = zeroCopy && buffer;
+        if (!zeroCopyBuffer && deadline == 0) {
+            return deliveryOptions;
+        }
+        // Do not modify the options set by the user
+        DeliveryOptions options = deliveryOptions != null ? copy(deliveryOptions) : new DeliveryOptions();
+        if (zeroCopyBuffer) {
+            options.setCodecName(ReadOnlyBufferCodec.NAME);
+        }
+        if (deadline != 0) {
+            options.addHeader(VertxEvent.DEADLINE_HEADER, Long.toString(deadline));
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining > 0 && remaining < options.getSendTimeout()) {
+                options.setSendTimeout(remaining);
+            }
+        }
+        return options;
+    }
+
+    static DeliveryOptions copy(DeliveryOptions options) {
+        // The copy constructor shares the headers
+        DeliveryOptions copy = new DeliveryOptions(options);
+        if (options.getHeaders() != null) {
+            copy.setHeaders(MultiMap.caseInsensitiveMultiMap().addAll(options.getHeaders()));
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Virtual threads are only available on JDK 21+. The API is accessed reflectively so that the extension can be used with older JDKs.
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+final class VirtualThreads {
+
+    static final String THREAD_NAME_PREFIX = "weld-vertx-virtual-";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class.getName());
+
+    private static final Executor EXECUTOR = createExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     *
+     * @return <code>true</code> if virtual threads are supported by the current JDK, <code>false</code> otherwise
+     */
+    static boolean isSupported() {
+        return EXECUTOR != null;
+    }
+
+    /**
+     * Executes the given task using a new virtual thread.
+     *
+     * @param task
+     * @throws IllegalStateException If virtual threads are not supported
+     */
+    static void execute(Runnable task) {
+        if (EXECUTOR == null) {
+            throw new IllegalStateException("Virtual threads are not supported by the current JDK");
+        }
+        EXECUTOR.execute(task);
+    }
+
+    private static Executor createExecutor() {
+        Method ofVirtual;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            LOGGER.debug("Virtual threads not supported by the current JDK");
+            return null;
+        }
+        try {
+            // Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory()
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            // Executors.newThreadPerTaskExecutor(factory)
+            return (Executor) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Unable to create virtual thread executor - virtual threads will not be used", e);
+            return null;
+        }
+    }
+
+}
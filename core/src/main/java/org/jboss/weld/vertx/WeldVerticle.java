@@ -18,17 +18,24 @@ package org.jboss.weld.vertx;
 
 import javax.enterprise.inject.Vetoed;
 
-import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 /**
  * This Verticle starts/stops the Weld SE container and registers {@link VertxExtension} automatically.
+ * <p>
+ * Message consumers are registered asynchronously and the verticle is started when all of them are registered. Consumers declared as
+ * {@link VertxConsumer#deferred()} are registered after the verticle is started.
+ * </p>
+ * <p>
+ * {@link Eager} beans are initialized in parallel with the registration of consumers and the verticle is not started until all of them are initialized.
+ * </p>
  *
  * @author Martin Kouba
  * @see VertxExtension
@@ -37,11 +44,13 @@ import io.vertx.core.logging.LoggerFactory;
 public class WeldVerticle extends AbstractVerticle {
 
     /**
+     * Concurrent deployment is enabled by default - {@link WeldVerticle} registers {@link VertxExecutorServices} so that the Vert.x worker threads are used.
+     * Set {@link org.jboss.weld.config.ConfigurationKey#CONCURRENT_DEPLOYMENT} to <code>false</code> to bootstrap the container using a single thread.
      *
      * @return a default {@link Weld} builder used to configure the Weld container
      */
     public static Weld createDefaultWeld() {
-        return new Weld().property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), false);
+        return new Weld();
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WeldVerticle.class.getName());
@@ -71,7 +80,10 @@ public class WeldVerticle extends AbstractVerticle {
         if (weld.getContainerId() == null) {
             weld.containerId(deploymentID());
         }
-        weld.addExtension(new VertxExtension(vertx, context));
+        VertxExtension extension = new VertxExtension(vertx, context, true);
+        weld.addExtension(extension);
+        // Use Vert.x worker threads instead of a Weld-managed thread pool - a subclass may register a different ExecutorServices in configureWeld()
+        weld.addServices(new VertxExecutorServices(vertx, config().getBoolean(VertxExtension.ASYNC_OBSERVERS_EVENT_LOOP_KEY, false)));
         configureWeld(weld);
         // Bootstrap can take some time to complete
         vertx.executeBlocking(future -> {
@@ -83,8 +95,24 @@ public class WeldVerticle extends AbstractVerticle {
             }
         }, result -> {
             if (result.succeeded()) {
-                LOGGER.info("Weld verticle started for deployment {0}", deploymentID());
-                startFuture.complete();
+                // Consumers are registered asynchronously, eager beans are initialized using worker threads
+                CompositeFuture.all(extension.getConsumerRegistration(), extension.initializeEagerBeans()).setHandler(startup -> {
+                    if (startup.succeeded()) {
+                        LOGGER.info("Weld verticle started for deployment {0}", deploymentID());
+                        startFuture.complete();
+                        extension.registerDeferredConsumers().setHandler(deferred -> {
+                            if (deferred.failed()) {
+                                LOGGER.error("Unable to register deferred consumers for deployment {0}", deferred.cause(), deploymentID());
+                            }
+                        });
+                    } else {
+                        // Shutdown the container - the verticle is not started
+                        vertx.executeBlocking(future -> {
+                            weldContainer.shutdown();
+                            future.complete();
+                        }, r -> startFuture.fail(startup.cause()));
+                    }
+                });
             } else {
                 startFuture.fail(result.cause());
             }
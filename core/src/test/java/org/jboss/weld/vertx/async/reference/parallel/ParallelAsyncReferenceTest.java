@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.async.reference.parallel;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.vertx.DispatchMetrics;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxExtension;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class ParallelAsyncReferenceTest {
+
+    private static final String WORKER_POOL = "async-reference-pool";
+
+    private WeldContainer weld;
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) throws ClassNotFoundException {
+        SlowService.reset();
+        // AsyncReferenceImpl is not public
+        Class<?> asyncReferenceImpl = Class.forName("org.jboss.weld.vertx.AsyncReferenceImpl");
+        WeldVerticle weldVerticle = new WeldVerticle(
+                createDefaultWeld().disableDiscovery().beanClasses(asyncReferenceImpl, SlowService.class, SlowServices.class));
+        Async async = context.async();
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(weldVerticle,
+                new DeploymentOptions().setConfig(new JsonObject().put(VertxExtension.ASYNC_REFERENCE_WORKER_POOL_KEY, WORKER_POOL)), r -> {
+                    if (r.succeeded()) {
+                        weld = weldVerticle.container();
+                        async.complete();
+                    } else {
+                        context.fail(r.cause());
+                    }
+                });
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testResolvedInParallel(TestContext context) throws Exception {
+        CompletableFuture<Void> all = new CompletableFuture<>();
+        // Async references created from the same context
+        vertx.runOnContext(v -> weld.select(SlowServices.class).get().all().whenComplete((r, t) -> all.complete(null)));
+        all.get(Timeouts.GLOBAL_TIMEOUT, TimeUnit.MILLISECONDS);
+        context.assertFalse(SlowService.TIMED_OUT.get());
+        context.assertEquals(SlowService.INSTANCES, SlowService.THREADS.size());
+        for (String thread : SlowService.THREADS) {
+            context.assertTrue(thread.startsWith(WORKER_POOL), thread);
+        }
+        context.assertEquals((long) SlowService.INSTANCES, weld.select(DispatchMetrics.class).get().getAsyncReferenceResolution().getCount());
+    }
+
+}
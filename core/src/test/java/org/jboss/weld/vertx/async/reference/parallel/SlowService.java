@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.async.reference.parallel;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.Dependent;
+
+@Dependent
+public class SlowService {
+
+    static final int INSTANCES = 3;
+
+    static final long WAIT_TIMEOUT = 1000;
+
+    static volatile CountDownLatch ALL_STARTED;
+
+    static final AtomicBoolean TIMED_OUT = new AtomicBoolean();
+
+    static final List<String> THREADS = new CopyOnWriteArrayList<>();
+
+    static void reset() {
+        ALL_STARTED = new CountDownLatch(INSTANCES);
+        TIMED_OUT.set(false);
+        THREADS.clear();
+    }
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        THREADS.add(Thread.currentThread().getName());
+        ALL_STARTED.countDown();
+        // Only completes if all the instances are created in parallel
+        if (!ALL_STARTED.await(WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            TIMED_OUT.set(true);
+        }
+    }
+
+}
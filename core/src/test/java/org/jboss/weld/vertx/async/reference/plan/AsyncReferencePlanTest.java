@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.async.reference.plan;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.vertx.AsyncReference;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class AsyncReferencePlanTest {
+
+    private WeldContainer weld;
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) throws ClassNotFoundException {
+        SharedService.CREATED.set(0);
+        // AsyncReferenceImpl is not public
+        Class<?> asyncReferenceImpl = Class.forName("org.jboss.weld.vertx.AsyncReferenceImpl");
+        WeldVerticle weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(asyncReferenceImpl, SharedService.class));
+        Async async = context.async();
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(weldVerticle, r -> {
+            if (r.succeeded()) {
+                weld = weldVerticle.container();
+                async.complete();
+            } else {
+                context.fail(r.cause());
+            }
+        });
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testApplicationScopedReferenceShared(TestContext context) throws Exception {
+        AsyncReference<SharedService> first = weld.select(new TypeLiteral<AsyncReference<SharedService>>() {
+        }).get();
+        context.assertEquals("pong", first.toCompletableFuture().get(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS).ping());
+        // The initialized instance is reused - no worker thread needed
+        AsyncReference<SharedService> second = weld.select(new TypeLiteral<AsyncReference<SharedService>>() {
+        }).get();
+        context.assertTrue(second.isDone());
+        context.assertEquals("pong", second.get().ping());
+        context.assertEquals(1, SharedService.CREATED.get());
+    }
+
+    @Test
+    public void testUnsatisfied(TestContext context) {
+        Throwable previous = null;
+        for (int i = 0; i < 2; i++) {
+            AsyncReference<Missing> missing = weld.select(new TypeLiteral<AsyncReference<Missing>>() {
+            }).get();
+            context.assertTrue(missing.isDone());
+            context.assertNull(missing.get());
+            context.assertTrue(missing.cause() instanceof UnsatisfiedResolutionException, "" + missing.cause());
+            // The plan is reused but each reference gets a new exception
+            context.assertTrue(missing.cause() != previous);
+            previous = missing.cause();
+        }
+    }
+
+}
@@ -126,4 +126,20 @@ public class AsyncWorkerTest {
             async.complete();
         });
     }
+
+    @Test
+    public void testWorkerVirtual(TestContext context) throws InterruptedException, ExecutionException {
+        BlockingFoo.reset();
+        Async async = context.async();
+
+        BlockingFoo foo = weld.select(BlockingFoo.class).get();
+
+        AsyncWorker.from(vertx).performVirtual(foo::getMessage).thenAccept(m -> {
+            context.assertEquals("ping", m);
+            async.complete();
+        });
+        context.assertEquals(1, async.count());
+        BlockingFoo.complete("ping");
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.backpressure;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class LoadSheddingTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(LoadSheddingObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testOverloadedMessagesRejected(TestContext context) {
+        Async async = context.async();
+        // Warm up - measure the service time
+        vertx.eventBus().send(LoadSheddingObservers.ADDRESS, 0, context.asyncAssertSuccess(warmup -> {
+            int count = 5;
+            Async replies = context.async(count + 1);
+            AtomicInteger rejected = new AtomicInteger();
+            for (int i = 0; i < count; i++) {
+                vertx.eventBus().send(LoadSheddingObservers.ADDRESS, i, r -> {
+                    if (r.failed()) {
+                        context.assertEquals(VertxEvent.OVERLOADED_CODE, ((ReplyException) r.cause()).failureCode());
+                        rejected.incrementAndGet();
+                    }
+                    replies.countDown();
+                });
+            }
+            // A priority message is never rejected
+            vertx.eventBus().send(LoadSheddingObservers.ADDRESS, "critical", new DeliveryOptions().addHeader(VertxEvent.PRIORITY_HEADER, "1"),
+                    context.asyncAssertSuccess(r -> {
+                        context.assertEquals("critical", r.body());
+                        replies.countDown();
+                    }));
+            replies.handler(v -> {
+                context.assertTrue(rejected.get() > 0);
+                context.assertTrue(rejected.get() < count);
+                async.complete();
+            });
+        }));
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.backpressure;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class MaxInFlightObservers {
+
+    static final String ADDRESS = "backpressure.limited";
+    static final int MAX_IN_FLIGHT = 2;
+
+    static final AtomicInteger CURRENT = new AtomicInteger();
+    static final AtomicInteger MAX = new AtomicInteger();
+
+    public void observeLimited(@Observes @VertxConsumer(value = ADDRESS, maxInFlight = MAX_IN_FLIGHT, maxBufferedMessages = 50) VertxEvent event)
+            throws InterruptedException {
+        int current = CURRENT.incrementAndGet();
+        MAX.accumulateAndGet(current, Math::max);
+        Thread.sleep(10);
+        CURRENT.decrementAndGet();
+        event.setReply(event.getMessageBody());
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.backpressure;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class MaxInFlightTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(MaxInFlightObservers.class)), context.asyncAssertSuccess());
+        MaxInFlightObservers.MAX.set(0);
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testMaxInFlight(TestContext context) {
+        Async async = context.async(30);
+        for (int i = 0; i < 30; i++) {
+            vertx.eventBus().send(MaxInFlightObservers.ADDRESS, i, context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertTrue(MaxInFlightObservers.MAX.get() <= MaxInFlightObservers.MAX_IN_FLIGHT, "Max in-flight: " + MaxInFlightObservers.MAX.get());
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.batch;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxBatchEvent;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class BatchObservers {
+
+    static final String SIZE_ADDRESS = "batch.size";
+    static final String TIMEOUT_ADDRESS = "batch.timeout";
+    static final String FAILURE_ADDRESS = "batch.failure";
+    static final String DEADLINE_ADDRESS = "batch.deadline";
+    static final String FORWARD_ADDRESS = "batch.forward";
+    static final int FAILURE_CODE = 42;
+
+    static final List<Integer> SIZE_BATCHES = new CopyOnWriteArrayList<>();
+    static final List<Integer> TIMEOUT_BATCHES = new CopyOnWriteArrayList<>();
+    static final List<Integer> DEADLINE_BATCHES = new CopyOnWriteArrayList<>();
+    static final List<Long> FORWARDED_REMAINING = new CopyOnWriteArrayList<>();
+
+    public void observeSize(@Observes @VertxConsumer(value = SIZE_ADDRESS, batchSize = 5, batchTimeout = 60000) VertxBatchEvent batch) {
+        SIZE_BATCHES.add(batch.size());
+        for (VertxEvent event : batch.getEvents()) {
+            event.setReply(event.getMessageBody());
+        }
+    }
+
+    public void observeTimeout(@Observes @VertxConsumer(value = TIMEOUT_ADDRESS, batchTimeout = 50) VertxBatchEvent batch) {
+        TIMEOUT_BATCHES.add(batch.size());
+        for (VertxEvent event : batch.getEvents()) {
+            event.setReply(event.getMessageBody());
+        }
+    }
+
+    public void observeDeadline(@Observes @VertxConsumer(value = DEADLINE_ADDRESS, batchTimeout = 300, deadlines = true) VertxBatchEvent batch) {
+        DEADLINE_BATCHES.add(batch.size());
+        batch.messageTo(FORWARD_ADDRESS).send("forward");
+        for (VertxEvent event : batch.getEvents()) {
+            event.setReply(event.getMessageBody());
+        }
+    }
+
+    public void observeForward(@Observes @VertxConsumer(value = FORWARD_ADDRESS, mode = DispatchMode.EVENT_LOOP, deadlines = true) VertxEvent event) {
+        FORWARDED_REMAINING.add(event.getRemainingTime());
+    }
+
+    public void observeFailure(@Observes @VertxConsumer(value = FAILURE_ADDRESS, batchSize = 4, batchTimeout = 60000) VertxBatchEvent batch) {
+        for (VertxEvent event : batch.getEvents()) {
+            Integer body = (Integer) event.getMessageBody();
+            if (body % 2 == 0) {
+                batch.fail(event, FAILURE_CODE, "even");
+            } else {
+                event.setReply(body);
+            }
+        }
+    }
+
+}
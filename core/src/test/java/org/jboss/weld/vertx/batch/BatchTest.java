@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.batch;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import javax.enterprise.inject.spi.DefinitionException;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.VertxExtension;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class BatchTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(BatchObservers.class)), context.asyncAssertSuccess());
+        BatchObservers.SIZE_BATCHES.clear();
+        BatchObservers.TIMEOUT_BATCHES.clear();
+        BatchObservers.DEADLINE_BATCHES.clear();
+        BatchObservers.FORWARDED_REMAINING.clear();
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testBatchSize(TestContext context) {
+        Async async = context.async(5);
+        for (int i = 0; i < 5; i++) {
+            int expected = i;
+            vertx.eventBus().send(BatchObservers.SIZE_ADDRESS, i, context.asyncAssertSuccess(r -> {
+                context.assertEquals(expected, r.body());
+                async.countDown();
+            }));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertEquals(Collections.singletonList(5), BatchObservers.SIZE_BATCHES);
+    }
+
+    @Test
+    public void testBatchTimeout(TestContext context) {
+        Async async = context.async(3);
+        for (int i = 0; i < 3; i++) {
+            vertx.eventBus().send(BatchObservers.TIMEOUT_ADDRESS, i, context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertEquals(Collections.singletonList(3), BatchObservers.TIMEOUT_BATCHES);
+    }
+
+    @Test
+    public void testIndividualFailure(TestContext context) {
+        Async async = context.async(4);
+        for (int i = 0; i < 4; i++) {
+            if (i % 2 == 0) {
+                vertx.eventBus().send(BatchObservers.FAILURE_ADDRESS, i, context.asyncAssertFailure(t -> {
+                    context.assertEquals(BatchObservers.FAILURE_CODE, ((ReplyException) t).failureCode());
+                    async.countDown();
+                }));
+            } else {
+                int expected = i;
+                vertx.eventBus().send(BatchObservers.FAILURE_ADDRESS, i, context.asyncAssertSuccess(r -> {
+                    context.assertEquals(expected, r.body());
+                    async.countDown();
+                }));
+            }
+        }
+    }
+
+    @Test
+    public void testDeadlines(TestContext context) {
+        Async async = context.async(3);
+        // Expires while the batch is collected
+        vertx.eventBus().send(BatchObservers.DEADLINE_ADDRESS, 0, deadline(50), context.asyncAssertFailure(t -> {
+            context.assertEquals(VertxEvent.DEADLINE_EXCEEDED_CODE, ((ReplyException) t).failureCode());
+            async.countDown();
+        }));
+        vertx.eventBus().send(BatchObservers.DEADLINE_ADDRESS, 1, deadline(5000), context.asyncAssertSuccess(r -> async.countDown()));
+        vertx.eventBus().send(BatchObservers.DEADLINE_ADDRESS, 2, context.asyncAssertSuccess(r -> async.countDown()));
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertEquals(Collections.singletonList(2), BatchObservers.DEADLINE_BATCHES);
+        Async forwarded = context.async();
+        vertx.setPeriodic(10, id -> {
+            if (!BatchObservers.FORWARDED_REMAINING.isEmpty()) {
+                vertx.cancelTimer(id);
+                // The earliest deadline of the batch is propagated
+                long remaining = BatchObservers.FORWARDED_REMAINING.get(0);
+                context.assertTrue(remaining > 0 && remaining <= 5000, "Unexpected remaining time: " + remaining);
+                forwarded.complete();
+            }
+        });
+    }
+
+    @Test
+    public void testMixedObservers() {
+        try (WeldContainer weld = createDefaultWeld().disableDiscovery().addExtension(new VertxExtension()).beanClasses(MixedObservers.class)
+                .initialize()) {
+            fail();
+        } catch (DefinitionException expected) {
+        }
+    }
+
+    private DeliveryOptions deadline(long timeout) {
+        return new DeliveryOptions().addHeader(VertxEvent.DEADLINE_HEADER, Long.toString(System.currentTimeMillis() + timeout));
+    }
+
+}
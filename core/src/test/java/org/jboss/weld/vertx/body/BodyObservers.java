@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.body;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.vertx.core.json.JsonObject;
+
+@ApplicationScoped
+public class BodyObservers {
+
+    static final String JSON_ADDRESS = "body.json";
+
+    static final String POJO_ADDRESS = "body.pojo";
+
+    static final String INVALID_ADDRESS = "body.invalid";
+
+    private volatile JsonObject first;
+
+    public void first(@Observes @Priority(1) @VertxConsumer(JSON_ADDRESS) VertxEvent event) {
+        first = event.getMessageBody(JsonObject.class);
+    }
+
+    public void second(@Observes @Priority(2) @VertxConsumer(JSON_ADDRESS) VertxEvent event) {
+        // The body is converted only once
+        JsonObject json = event.getMessageBody(JsonObject.class);
+        event.setReply(json == first ? json.getString("name") : "converted twice");
+    }
+
+    public void pojo(@Observes @VertxConsumer(POJO_ADDRESS) VertxEvent event) {
+        Item item = event.getMessageBody(Item.class);
+        event.setReply(item.name + ":" + item.amount);
+    }
+
+    public void invalid(@Observes @VertxConsumer(INVALID_ADDRESS) VertxEvent event) {
+        event.getMessageBody(Thread.class);
+    }
+
+    public static class Item {
+
+        public String name;
+
+        public int amount;
+
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.body;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class MessageBodyTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(BodyObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testConvertedOnce(TestContext context) {
+        vertx.eventBus().send(BodyObservers.JSON_ADDRESS, "{\"name\":\"foo\"}", context.asyncAssertSuccess(r -> context.assertEquals("foo", r.body())));
+    }
+
+    @Test
+    public void testPojoConversion(TestContext context) {
+        vertx.eventBus().send(BodyObservers.POJO_ADDRESS, new JsonObject().put("name", "foo").put("amount", 10),
+                context.asyncAssertSuccess(r -> context.assertEquals("foo:10", r.body())));
+        vertx.eventBus().send(BodyObservers.POJO_ADDRESS, Buffer.buffer("{\"name\":\"bar\",\"amount\":5}"),
+                context.asyncAssertSuccess(r -> context.assertEquals("bar:5", r.body())));
+    }
+
+    @Test
+    public void testUnsupportedConversion(TestContext context) {
+        vertx.eventBus().send(BodyObservers.INVALID_ADDRESS, 1, context.asyncAssertFailure(t -> {
+            context.assertEquals(VertxEvent.OBSERVER_FAILURE_CODE, ((ReplyException) t).failureCode());
+        }));
+    }
+
+}
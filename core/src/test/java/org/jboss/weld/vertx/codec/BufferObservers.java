@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.codec;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+@ApplicationScoped
+public class BufferObservers {
+
+    static final String STORE_ADDRESS = "buffer.store";
+
+    static final String FORWARD_ADDRESS = "buffer.forward";
+
+    static final BlockingQueue<Buffer> RECEIVED = new LinkedBlockingQueue<>();
+
+    public void store(@Observes @VertxConsumer(STORE_ADDRESS) VertxEvent event) {
+        ByteBuf slice = event.getMessageBodySlice();
+        RECEIVED.add((Buffer) event.getMessageBody());
+        event.setReply(slice.isReadOnly() ? slice.readableBytes() : -1);
+    }
+
+    public void forward(@Observes @VertxConsumer(FORWARD_ADDRESS) VertxEvent event) {
+        Buffer buffer = (Buffer) event.getMessageBody();
+        event.messageTo(STORE_ADDRESS).setZeroCopy(true).send(buffer);
+        event.setReply("ok");
+    }
+
+}
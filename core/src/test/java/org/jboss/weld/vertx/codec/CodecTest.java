@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.codec;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class CodecTest {
+
+    private Vertx vertx;
+
+    private WeldVerticle weldVerticle;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(CodecObservers.class, CoordinatesCodec.class));
+        vertx.deployVerticle(weldVerticle, context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testPassedByReference(TestContext context) {
+        Coordinates coordinates = new Coordinates(50.08, 14.42);
+        vertx.eventBus().send(CodecObservers.ECHO_ADDRESS, coordinates, context.asyncAssertSuccess(r -> context.assertTrue(coordinates == r.body())));
+    }
+
+    @Test
+    public void testObserverReceivesPojo(TestContext context) {
+        vertx.eventBus().send(CodecObservers.LATITUDE_ADDRESS, new Coordinates(50.08, 14.42),
+                context.asyncAssertSuccess(r -> context.assertEquals(50.08, r.body())));
+    }
+
+    @Test
+    public void testCodecUnregisteredOnShutdown(TestContext context) {
+        String deploymentId = vertx.deploymentIDs().iterator().next();
+        vertx.undeploy(deploymentId, context.asyncAssertSuccess(v -> {
+            try {
+                vertx.eventBus().send("codec.none", new Coordinates(0, 0));
+                context.fail("No codec should be registered");
+            } catch (IllegalArgumentException expected) {
+                // No message codec for type
+            }
+        }));
+    }
+
+}
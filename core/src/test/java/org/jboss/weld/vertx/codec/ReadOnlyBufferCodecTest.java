@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.codec;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.nio.ReadOnlyBufferException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.vertx.ReadOnlyBufferCodec;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class ReadOnlyBufferCodecTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        BufferObservers.RECEIVED.clear();
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(BufferObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testContentShared(TestContext context) {
+        Buffer buffer = Buffer.buffer("hello");
+        vertx.eventBus().send(BufferObservers.STORE_ADDRESS, buffer, new DeliveryOptions().setCodecName(ReadOnlyBufferCodec.NAME),
+                context.asyncAssertSuccess(r -> {
+                    context.assertEquals(5, r.body());
+                    Buffer received = BufferObservers.RECEIVED.poll();
+                    // Modify the original buffer - the change is visible
+                    buffer.setString(0, "j");
+                    context.assertEquals("jello", received.toString());
+                    try {
+                        received.setString(0, "y");
+                        context.fail("The received buffer must be read-only");
+                    } catch (ReadOnlyBufferException expected) {
+                    }
+                }));
+    }
+
+    @Test
+    public void testContentCopiedByDefault(TestContext context) {
+        Buffer buffer = Buffer.buffer("hello");
+        vertx.eventBus().send(BufferObservers.STORE_ADDRESS, buffer, context.asyncAssertSuccess(r -> {
+            context.assertEquals(5, r.body());
+            Buffer received = BufferObservers.RECEIVED.poll();
+            buffer.setString(0, "j");
+            context.assertEquals("hello", received.toString());
+        }));
+    }
+
+    @Test
+    public void testZeroCopyMessage(TestContext context) throws InterruptedException {
+        Buffer buffer = Buffer.buffer("hello");
+        vertx.eventBus().send(BufferObservers.FORWARD_ADDRESS, buffer, new DeliveryOptions().setCodecName(ReadOnlyBufferCodec.NAME),
+                context.asyncAssertSuccess());
+        // The buffer is forwarded with zero-copy enabled
+        Buffer received = BufferObservers.RECEIVED.poll(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+        context.assertNotNull(received);
+        buffer.setString(0, "j");
+        context.assertEquals("jello", received.toString());
+    }
+
+}
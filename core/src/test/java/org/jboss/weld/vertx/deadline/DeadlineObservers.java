@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class DeadlineObservers {
+
+    static final String REMAINING_ADDRESS = "deadline.remaining";
+
+    static final String FORWARD_ADDRESS = "deadline.forward";
+
+    static final String BLOCKING_ADDRESS = "deadline.blocking";
+
+    static final String IGNORED_ADDRESS = "deadline.ignored";
+
+    static final AtomicInteger NOTIFIED = new AtomicInteger();
+
+    static volatile CountDownLatch BLOCKING_LATCH;
+
+    public void remaining(@Observes @VertxConsumer(value = REMAINING_ADDRESS, deadlines = true) VertxEvent event) {
+        NOTIFIED.incrementAndGet();
+        event.setReply(event.getRemainingTime());
+    }
+
+    public void ignored(@Observes @VertxConsumer(IGNORED_ADDRESS) VertxEvent event) {
+        NOTIFIED.incrementAndGet();
+        event.setReply(event.getRemainingTime());
+    }
+
+    public void forward(@Observes @VertxConsumer(value = FORWARD_ADDRESS, deadlines = true) VertxEvent event) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        // The deadline is propagated
+        event.messageTo(REMAINING_ADDRESS).send(event.getMessageBody(), r -> {
+            if (r.succeeded()) {
+                reply.complete(r.result().body());
+            } else {
+                reply.completeExceptionally(r.cause());
+            }
+        });
+        event.setAsyncReply(reply);
+    }
+
+    public void blocking(@Observes @VertxConsumer(value = BLOCKING_ADDRESS, mode = DispatchMode.WORKER_ORDERED, deadlines = true) VertxEvent event)
+            throws InterruptedException {
+        NOTIFIED.incrementAndGet();
+        if ("block".equals(event.getMessageBody())) {
+            BLOCKING_LATCH.await(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        event.setReply(event.getMessageBody());
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.deadline;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class DeadlineTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        DeadlineObservers.NOTIFIED.set(0);
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(DeadlineObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testNoDeadline(TestContext context) {
+        vertx.eventBus().send(DeadlineObservers.REMAINING_ADDRESS, "foo", context.asyncAssertSuccess(r -> context.assertEquals(Long.MAX_VALUE, r.body())));
+    }
+
+    @Test
+    public void testRemainingTime(TestContext context) {
+        vertx.eventBus().send(DeadlineObservers.REMAINING_ADDRESS, "foo", deadline(5000), context.asyncAssertSuccess(r -> {
+            long remaining = (Long) r.body();
+            context.assertTrue(remaining > 0 && remaining <= 5000, "Remaining: " + remaining);
+        }));
+    }
+
+    @Test
+    public void testDeadlinePropagated(TestContext context) {
+        vertx.eventBus().send(DeadlineObservers.FORWARD_ADDRESS, "foo", deadline(5000), context.asyncAssertSuccess(r -> {
+            long remaining = (Long) r.body();
+            context.assertTrue(remaining > 0 && remaining <= 5000, "Remaining: " + remaining);
+        }));
+    }
+
+    @Test
+    public void testExpiredMessageDropped(TestContext context) {
+        vertx.eventBus().send(DeadlineObservers.REMAINING_ADDRESS, "foo", deadline(-1), context.asyncAssertFailure(t -> {
+            context.assertEquals(VertxEvent.DEADLINE_EXCEEDED_CODE, ((ReplyException) t).failureCode());
+            context.assertEquals(0, DeadlineObservers.NOTIFIED.get());
+        }));
+    }
+
+    @Test
+    public void testDeadlinesDisabled(TestContext context) {
+        vertx.eventBus().send(DeadlineObservers.IGNORED_ADDRESS, "foo", deadline(-1), context.asyncAssertSuccess(r -> {
+            context.assertEquals(Long.MAX_VALUE, r.body());
+            context.assertEquals(1, DeadlineObservers.NOTIFIED.get());
+        }));
+    }
+
+    @Test
+    public void testExpiredWhileQueued(TestContext context) {
+        DeadlineObservers.BLOCKING_LATCH = new CountDownLatch(1);
+        Async async = context.async(2);
+        // The first message blocks the ordered worker until the second one expires
+        vertx.eventBus().send(DeadlineObservers.BLOCKING_ADDRESS, "block", context.asyncAssertSuccess(r -> async.countDown()));
+        vertx.eventBus().send(DeadlineObservers.BLOCKING_ADDRESS, "expired", deadline(50), context.asyncAssertFailure(t -> {
+            context.assertEquals(VertxEvent.DEADLINE_EXCEEDED_CODE, ((ReplyException) t).failureCode());
+            context.assertEquals(1, DeadlineObservers.NOTIFIED.get());
+            async.countDown();
+        }));
+        vertx.setTimer(200, id -> DeadlineObservers.BLOCKING_LATCH.countDown());
+    }
+
+    private DeliveryOptions deadline(long timeout) {
+        // The send timeout is not affected so that the failure is received
+        return new DeliveryOptions().addHeader(VertxEvent.DEADLINE_HEADER, Long.toString(System.currentTimeMillis() + timeout));
+    }
+
+}
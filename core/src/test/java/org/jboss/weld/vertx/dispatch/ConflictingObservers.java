@@ -0,0 +1,37 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.EVENT_LOOP;
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.WORKER_ORDERED;
+
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+public class ConflictingObservers {
+
+    static final String ADDRESS = "dispatch.conflict";
+
+    public void observe1(@Observes @VertxConsumer(value = ADDRESS, mode = EVENT_LOOP) VertxEvent event) {
+    }
+
+    public void observe2(@Observes @VertxConsumer(value = ADDRESS, mode = WORKER_ORDERED) VertxEvent event) {
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.Arrays;
+
+import org.jboss.weld.vertx.CacheService;
+import org.jboss.weld.vertx.CoolService;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class DirectInvocationTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(InvokerObservers.class, CacheService.class, CoolService.class)),
+                context.asyncAssertSuccess());
+        InvokerObservers.ORDER.clear();
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testDirectInvocation(TestContext context) {
+        vertx.eventBus().send(InvokerObservers.DIRECT_ADDRESS, "hello", context.asyncAssertSuccess(r -> {
+            context.assertEquals(true, r.body());
+            context.assertEquals(Arrays.asList("first", "second"), InvokerObservers.ORDER);
+        }));
+    }
+
+    @Test
+    public void testDependentParameterFallback(TestContext context) {
+        vertx.eventBus().send(InvokerObservers.DEPENDENT_PARAM_ADDRESS, "hello", context.asyncAssertSuccess(r -> context.assertEquals(true, r.body())));
+    }
+
+    @Test
+    public void testConditionalObserverFallback(TestContext context) {
+        // Make sure the bean instance exists first
+        vertx.eventBus().send(InvokerObservers.DIRECT_ADDRESS, "hello", context.asyncAssertSuccess(
+                r1 -> vertx.eventBus().send(InvokerObservers.CONDITIONAL_ADDRESS, "hello", context.asyncAssertSuccess(r2 -> context.assertEquals(true, r2.body())))));
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Allocation regression test - measures the number of bytes allocated per dispatched message (including the allocations made by the event bus itself).
+ * <p>
+ * The measurement is sensitive to the JVM and to the other threads running in the same process, therefore the test is opt-in:
+ * {@code mvn test -Dtest=DispatchAllocationTest -DallocationTests}.
+ *
+ * @author Martin Kouba
+ */
+public class DispatchAllocationTest {
+
+    static final boolean ENABLED = System.getProperty("allocationTests") != null;
+
+    // Sending and delivering a local message allocates roughly 400 bytes in the event bus itself
+    static final long MAX_BYTES_PER_MESSAGE = Long.getLong("maxBytesPerMessage", 1024);
+
+    static final int WARMUP_MESSAGES = 50000;
+
+    static final int MESSAGES = 100000;
+
+    private Vertx vertx;
+
+    @Before
+    public void init() throws Exception {
+        assumeTrue(ENABLED && isAllocationMeasurementSupported());
+        vertx = Vertx.vertx();
+        CompletableFuture<String> deployed = new CompletableFuture<>();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(AllocationObservers.class)), r -> {
+            if (r.succeeded()) {
+                deployed.complete(r.result());
+            } else {
+                deployed.completeExceptionally(r.cause());
+            }
+        });
+        deployed.get(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void close() {
+        if (vertx != null) {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void testEventLoop() throws InterruptedException {
+        assertBytesPerMessage(AllocationObservers.EVENT_LOOP_ADDRESS);
+    }
+
+    @Test
+    public void testWorker() throws InterruptedException {
+        assertBytesPerMessage(AllocationObservers.WORKER_ADDRESS);
+    }
+
+    private void assertBytesPerMessage(String address) throws InterruptedException {
+        // Warm up first so that lazy initialization and JIT do not skew the results
+        dispatch(address, WARMUP_MESSAGES);
+        long before = allocatedBytes();
+        dispatch(address, MESSAGES);
+        long bytesPerMessage = (allocatedBytes() - before) / MESSAGES;
+        assertTrue(String.format("%s bytes allocated per message dispatched to %s, max %s", bytesPerMessage, address, MAX_BYTES_PER_MESSAGE),
+                bytesPerMessage <= MAX_BYTES_PER_MESSAGE);
+    }
+
+    private void dispatch(String address, int messages) throws InterruptedException {
+        AllocationObservers.COUNTER.set(0);
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        // Send all the messages from the event loop, without a reply handler
+        vertx.runOnContext(v -> {
+            for (int i = 0; i < messages; i++) {
+                vertx.eventBus().send(address, "ping");
+            }
+            sent.complete(null);
+        });
+        sent.join();
+        long deadline = System.currentTimeMillis() + Timeouts.DEFAULT_TIMEOUT * 4;
+        while (AllocationObservers.COUNTER.get() < messages) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Messages not dispatched: " + AllocationObservers.COUNTER.get());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private static boolean isAllocationMeasurementSupported() {
+        try {
+            return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.EVENT_LOOP;
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.VIRTUAL;
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.WORKER_KEYED;
+import static org.jboss.weld.vertx.VertxConsumer.DispatchMode.WORKER_ORDERED;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.vertx.core.Context;
+
+@ApplicationScoped
+public class DispatchModeObservers {
+
+    static final String EVENT_LOOP_ADDRESS = "dispatch.eventloop";
+    static final String ORDERED_ADDRESS = "dispatch.ordered";
+    static final String UNORDERED_ADDRESS = "dispatch.unordered";
+    static final String WORKER_POOL_ADDRESS = "dispatch.pool";
+    static final String WORKER_POOL = "dispatch-pool";
+    static final String VIRTUAL_ADDRESS = "dispatch.virtual";
+    static final String KEYED_ADDRESS = "dispatch.keyed";
+    static final String KEY_HEADER = "orderId";
+    static final String KEYED_ASYNC_ADDRESS = "dispatch.keyed.async";
+    static final String KEYED_STALLED_ADDRESS = "dispatch.keyed.stalled";
+    static final String KEYED_ERROR_ADDRESS = "dispatch.keyed.error";
+
+    static final List<Object> ORDERED = new CopyOnWriteArrayList<>();
+
+    static final Map<String, List<Object>> KEYED = new ConcurrentHashMap<>();
+    static final AtomicInteger KEYED_CURRENT = new AtomicInteger();
+    static final AtomicInteger KEYED_MAX = new AtomicInteger();
+
+    static final AtomicInteger KEYED_ASYNC_CURRENT = new AtomicInteger();
+    static final AtomicInteger KEYED_ASYNC_MAX = new AtomicInteger();
+
+    public void observeEventLoop(@Observes @VertxConsumer(value = EVENT_LOOP_ADDRESS, mode = EVENT_LOOP) VertxEvent event) {
+        event.setReply(Context.isOnEventLoopThread());
+    }
+
+    public void observeOrdered(@Observes @VertxConsumer(value = ORDERED_ADDRESS, mode = WORKER_ORDERED) VertxEvent event) throws InterruptedException {
+        Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+        ORDERED.add(event.getMessageBody());
+    }
+
+    public void observeUnordered(@Observes @VertxConsumer(UNORDERED_ADDRESS) VertxEvent event) {
+        event.setReply(Context.isOnWorkerThread());
+    }
+
+    public void observeWorkerPool(@Observes @VertxConsumer(value = WORKER_POOL_ADDRESS, workerPool = WORKER_POOL, workerPoolSize = 2) VertxEvent event) {
+        event.setReply(Thread.currentThread().getName());
+    }
+
+    public void observeVirtual(@Observes @VertxConsumer(value = VIRTUAL_ADDRESS, mode = VIRTUAL) VertxEvent event) {
+        event.setReply(Thread.currentThread().getName());
+    }
+
+    public void observeKeyed(@Observes @VertxConsumer(value = KEYED_ADDRESS, mode = WORKER_KEYED, keyHeader = KEY_HEADER, stripes = 4) VertxEvent event)
+            throws InterruptedException {
+        KEYED_MAX.accumulateAndGet(KEYED_CURRENT.incrementAndGet(), Math::max);
+        Thread.sleep(1 + ThreadLocalRandom.current().nextInt(4));
+        KEYED.computeIfAbsent(event.getHeaders().get(KEY_HEADER), k -> new CopyOnWriteArrayList<>()).add(event.getMessageBody());
+        KEYED_CURRENT.decrementAndGet();
+    }
+
+    public void observeKeyedStalled(@Observes @VertxConsumer(value = KEYED_STALLED_ADDRESS, mode = WORKER_KEYED, stripes = 1, keyedTimeout = 100) VertxEvent event) {
+        if ("hang".equals(event.getMessageBody())) {
+            // Never completed
+            event.setAsyncReply(new CompletableFuture<>());
+        } else {
+            event.setReply(event.getMessageBody());
+        }
+    }
+
+    public void observeKeyedError(@Observes @VertxConsumer(value = KEYED_ERROR_ADDRESS, mode = WORKER_KEYED, stripes = 1) VertxEvent event) {
+        if ("error".equals(event.getMessageBody())) {
+            throw new Error("error");
+        }
+        event.setReply(event.getMessageBody());
+    }
+
+    public void observeKeyedAsync(@Observes @VertxConsumer(value = KEYED_ASYNC_ADDRESS, mode = WORKER_KEYED, stripes = 1) VertxEvent event) {
+        KEYED_ASYNC_MAX.accumulateAndGet(KEYED_ASYNC_CURRENT.incrementAndGet(), Math::max);
+        event.setAsyncReply(CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(1 + ThreadLocalRandom.current().nextInt(4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            KEYED_ASYNC_CURRENT.decrementAndGet();
+            return event.getMessageBody();
+        }));
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.DefinitionException;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxExtension;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class DispatchModeTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(DispatchModeObservers.class)),
+                context.asyncAssertSuccess());
+        DispatchModeObservers.ORDERED.clear();
+        DispatchModeObservers.KEYED.clear();
+        DispatchModeObservers.KEYED_MAX.set(0);
+        DispatchModeObservers.KEYED_ASYNC_MAX.set(0);
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testEventLoop(TestContext context) {
+        vertx.eventBus().send(DispatchModeObservers.EVENT_LOOP_ADDRESS, "hello", context.asyncAssertSuccess(r -> context.assertEquals(true, r.body())));
+    }
+
+    @Test
+    public void testWorkerUnordered(TestContext context) {
+        vertx.eventBus().send(DispatchModeObservers.UNORDERED_ADDRESS, "hello", context.asyncAssertSuccess(r -> context.assertEquals(true, r.body())));
+    }
+
+    @Test
+    public void testWorkerOrdered(TestContext context) throws InterruptedException {
+        List<Object> expected = new ArrayList<>();
+        Async async = context.async(20);
+        for (int i = 0; i < 20; i++) {
+            expected.add(i);
+            vertx.eventBus().send(DispatchModeObservers.ORDERED_ADDRESS, i, context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertEquals(expected, DispatchModeObservers.ORDERED);
+    }
+
+    @Test
+    public void testWorkerKeyed(TestContext context) throws InterruptedException {
+        Map<String, List<Object>> expected = new HashMap<>();
+        Async async = context.async(40);
+        for (int i = 0; i < 40; i++) {
+            String key = "order" + (i % 4);
+            expected.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            vertx.eventBus().send(DispatchModeObservers.KEYED_ADDRESS, i, new DeliveryOptions().addHeader(DispatchModeObservers.KEY_HEADER, key),
+                    context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        context.assertEquals(expected, DispatchModeObservers.KEYED);
+        // Messages with different keys are processed in parallel
+        context.assertTrue(DispatchModeObservers.KEYED_MAX.get() > 1);
+    }
+
+    @Test
+    public void testWorkerKeyedAsyncReply(TestContext context) {
+        Async async = context.async(20);
+        for (int i = 0; i < 20; i++) {
+            vertx.eventBus().send(DispatchModeObservers.KEYED_ASYNC_ADDRESS, i, context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        // The next message of the stripe is not processed until the asynchronous reply of the previous one completes
+        context.assertEquals(1, DispatchModeObservers.KEYED_ASYNC_MAX.get());
+    }
+
+    @Test
+    public void testWorkerKeyedStalled(TestContext context) {
+        // A pending asynchronous reply does not block the stripe forever
+        vertx.eventBus().send(DispatchModeObservers.KEYED_STALLED_ADDRESS, "hang");
+        vertx.eventBus().send(DispatchModeObservers.KEYED_STALLED_ADDRESS, "ok", context.asyncAssertSuccess(r -> context.assertEquals("ok", r.body())));
+    }
+
+    @Test
+    public void testWorkerKeyedError(TestContext context) {
+        // The stripe is released immediately if an observer method throws an error
+        vertx.eventBus().send(DispatchModeObservers.KEYED_ERROR_ADDRESS, "error");
+        vertx.eventBus().send(DispatchModeObservers.KEYED_ERROR_ADDRESS, "ok", context.asyncAssertSuccess(r -> context.assertEquals("ok", r.body())));
+    }
+
+    @Test
+    public void testWorkerPool(TestContext context) {
+        vertx.eventBus().send(DispatchModeObservers.WORKER_POOL_ADDRESS, "hello",
+                context.asyncAssertSuccess(r -> context.assertTrue(r.body().toString().startsWith(DispatchModeObservers.WORKER_POOL))));
+    }
+
+    @Test
+    public void testVirtual(TestContext context) {
+        // Virtual threads are only supported on JDK 21+
+        String expectedPrefix = isVirtualThreadSupported() ? "weld-vertx-virtual-" : "vert.x-worker-thread";
+        vertx.eventBus().send(DispatchModeObservers.VIRTUAL_ADDRESS, "hello",
+                context.asyncAssertSuccess(r -> context.assertTrue(r.body().toString().startsWith(expectedPrefix), r.body().toString())));
+    }
+
+    @Test
+    public void testInconsistentConfiguration() {
+        try (WeldContainer weld = createDefaultWeld().disableDiscovery().addExtension(new VertxExtension()).beanClasses(ConflictingObservers.class)
+                .initialize()) {
+            fail();
+        } catch (DefinitionException expected) {
+        }
+    }
+
+    @Test
+    public void testConflictingWorkerPool() {
+        try (WeldContainer weld = createDefaultWeld().disableDiscovery().addExtension(new VertxExtension()).beanClasses(ConflictingPoolObservers.class)
+                .initialize()) {
+            fail();
+        } catch (DefinitionException expected) {
+        }
+    }
+
+    private boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.dispatch;
+
+import static javax.enterprise.event.Reception.IF_EXISTS;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.CacheService;
+import org.jboss.weld.vertx.CoolService;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class InvokerObservers {
+
+    static final String DIRECT_ADDRESS = "invoker.direct";
+    static final String DEPENDENT_PARAM_ADDRESS = "invoker.dependent";
+    static final String CONDITIONAL_ADDRESS = "invoker.conditional";
+
+    static final List<String> ORDER = new CopyOnWriteArrayList<>();
+
+    public void observeSecond(@Observes @Priority(20) @VertxConsumer(DIRECT_ADDRESS) VertxEvent event, CacheService cacheService) {
+        ORDER.add("second");
+        event.setReply(cacheService != null && !isNotifiedByWeld());
+    }
+
+    public void observeFirst(@Observes @Priority(10) @VertxConsumer(DIRECT_ADDRESS) VertxEvent event) {
+        ORDER.add("first");
+    }
+
+    public void observeDependentParam(@Observes @VertxConsumer(DEPENDENT_PARAM_ADDRESS) VertxEvent event, CoolService coolService) {
+        event.setReply(coolService != null && isNotifiedByWeld());
+    }
+
+    public void observeConditional(@Observes(notifyObserver = IF_EXISTS) @VertxConsumer(CONDITIONAL_ADDRESS) VertxEvent event) {
+        event.setReply(isNotifiedByWeld());
+    }
+
+    static boolean isNotifiedByWeld() {
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            if (element.getClassName().startsWith("org.jboss.weld.event.ObserverNotifier")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
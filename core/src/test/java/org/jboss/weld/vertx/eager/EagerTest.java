@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.eager;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxExtension;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class EagerTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init() {
+        Initializations.reset();
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testEagerBeansInitialized(TestContext context) {
+        DeploymentOptions options = new DeploymentOptions()
+                .setConfig(new JsonObject().put(VertxExtension.EAGER_BEANS_KEY, new JsonArray().add(Configured.class.getName())));
+        vertx.deployVerticle(
+                new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(Repository.class, Helper.class, Cache.class, Configured.class, Lazy.class)),
+                options, context.asyncAssertSuccess(id -> {
+                    context.assertEquals(3, Initializations.BEANS.size(), Initializations.BEANS.toString());
+                    context.assertTrue(Initializations.BEANS.contains(Configured.class.getSimpleName()));
+                    context.assertFalse(Initializations.BEANS.contains(Lazy.class.getSimpleName()));
+                    // Repository is initialized before Cache
+                    context.assertTrue(Initializations.BEANS.indexOf(Repository.class.getSimpleName()) < Initializations.BEANS.indexOf("Cache:found"),
+                            Initializations.BEANS.toString());
+                    for (String thread : Initializations.THREADS) {
+                        context.assertTrue(thread.startsWith("vert.x-worker-thread"), thread);
+                    }
+                }));
+    }
+
+    @Test
+    public void testEagerInitializationFailure(TestContext context) {
+        DeploymentOptions options = new DeploymentOptions()
+                .setConfig(new JsonObject().put(VertxExtension.EAGER_BEANS_KEY, new JsonArray().add(Broken.class.getName())));
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(Broken.class)), options,
+                context.asyncAssertFailure(t -> context.assertTrue(getRootCause(t) instanceof IllegalStateException, "" + t)));
+    }
+
+    private Throwable getRootCause(Throwable t) {
+        return t.getCause() != null ? getRootCause(t.getCause()) : t;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.executor;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.manager.api.WeldManager;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxExecutorServices;
+import org.jboss.weld.vertx.VertxExtension;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.jboss.weld.vertx.executor.AsyncObserver.Ping;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class VertxExecutorServicesTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testWorkerThreadsUsed(TestContext context) {
+        WeldVerticle weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(AsyncObserver.class));
+        Async async = context.async();
+        vertx.deployVerticle(weldVerticle, context.asyncAssertSuccess(id -> {
+            WeldManager beanManager = (WeldManager) weldVerticle.container().getBeanManager();
+            context.assertTrue(beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.CONCURRENT_DEPLOYMENT));
+            context.assertTrue(beanManager.getServices().get(ExecutorServices.class) instanceof VertxExecutorServices);
+            vertx.runOnContext(v -> {
+                Context caller = Vertx.currentContext();
+                weldVerticle.container().event().select(Ping.class).fireAsync(new Ping()).thenAccept(ping -> {
+                    context.assertTrue(ping.thread.startsWith(VertxExecutorServices.DEFAULT_WORKER_POOL_NAME), ping.thread);
+                    // The context of the caller is propagated
+                    context.assertEquals(caller, ping.context);
+                    async.complete();
+                });
+            });
+        }));
+    }
+
+    @Test
+    public void testEventLoop(TestContext context) {
+        WeldVerticle weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(AsyncObserver.class));
+        DeploymentOptions options = new DeploymentOptions().setConfig(new JsonObject().put(VertxExtension.ASYNC_OBSERVERS_EVENT_LOOP_KEY, true));
+        Async async = context.async();
+        vertx.deployVerticle(weldVerticle, options, context.asyncAssertSuccess(id -> {
+            vertx.runOnContext(v -> {
+                Context caller = Vertx.currentContext();
+                String callerThread = Thread.currentThread().getName();
+                weldVerticle.container().event().select(Ping.class).fireAsync(new Ping()).thenAccept(ping -> {
+                    context.assertEquals(callerThread, ping.thread);
+                    context.assertEquals(caller, ping.context);
+                    // The stage is completed on the event loop
+                    context.assertEquals(callerThread, Thread.currentThread().getName());
+                    async.complete();
+                });
+            });
+        }));
+    }
+
+    @Test
+    public void testShutdown(TestContext context) throws InterruptedException {
+        VertxExecutorServices executorServices = new VertxExecutorServices(vertx);
+        Async async = context.async();
+        executorServices.getTaskExecutor().submit(() -> async.complete());
+        async.await();
+        executorServices.getTaskExecutor().shutdown();
+        context.assertTrue(executorServices.getTaskExecutor().awaitTermination(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        try {
+            executorServices.getTaskExecutor().execute(() -> {
+            });
+            context.fail();
+        } catch (RejectedExecutionException expected) {
+        }
+    }
+
+    @Test
+    public void testSubmissionFailure(TestContext context) throws InterruptedException {
+        Vertx closed = Vertx.vertx();
+        VertxExecutorServices executorServices = new VertxExecutorServices(closed);
+        Async async = context.async();
+        closed.close(context.asyncAssertSuccess(v -> async.complete()));
+        async.await();
+        try {
+            executorServices.getTaskExecutor().execute(() -> {
+            });
+            context.fail();
+        } catch (RuntimeException expected) {
+        }
+        // The task was never submitted - it must not block the termination
+        executorServices.getTaskExecutor().shutdown();
+        context.assertTrue(executorServices.getTaskExecutor().awaitTermination(Timeouts.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.extension;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class RegistrationObservers {
+
+    static final String CRITICAL_ADDRESS = "registration.critical";
+    static final String DEFERRED_ADDRESS = "registration.deferred";
+    static final String LOCAL_ADDRESS = "registration.local";
+
+    public void observeCritical(@Observes @VertxConsumer(CRITICAL_ADDRESS) VertxEvent event) {
+        event.setReply("critical");
+    }
+
+    public void observeDeferred(@Observes @VertxConsumer(value = DEFERRED_ADDRESS, deferred = true) VertxEvent event) {
+        event.setReply("deferred");
+    }
+
+    public void observeLocal(@Observes @VertxConsumer(value = LOCAL_ADDRESS, local = true) VertxEvent event) {
+        event.setReply("local");
+    }
+
+}
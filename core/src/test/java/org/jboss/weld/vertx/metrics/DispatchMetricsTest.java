@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.metrics;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.vertx.ConsumerMetrics;
+import org.jboss.weld.vertx.DispatchMetrics;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class DispatchMetricsTest {
+
+    private Vertx vertx;
+
+    private WeldVerticle weldVerticle;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        weldVerticle = new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(MetricsObservers.class));
+        vertx.deployVerticle(weldVerticle, context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testWorkerMetrics(TestContext context) {
+        Async async = context.async(3);
+        vertx.eventBus().send(MetricsObservers.WORKER_ADDRESS, "foo", context.asyncAssertSuccess(r -> async.countDown()));
+        vertx.eventBus().send(MetricsObservers.WORKER_ADDRESS, "bar", context.asyncAssertSuccess(r -> async.countDown()));
+        vertx.eventBus().send(MetricsObservers.WORKER_ADDRESS, "fail", context.asyncAssertFailure(r -> async.countDown()));
+        async.await(Timeouts.DEFAULT_TIMEOUT);
+
+        DispatchMetrics metrics = weldVerticle.container().select(DispatchMetrics.class).get();
+        ConsumerMetrics consumer = metrics.getConsumer(MetricsObservers.WORKER_ADDRESS);
+        context.assertNotNull(consumer);
+        context.assertEquals(3l, consumer.getReceived());
+        context.assertEquals(2l, consumer.getReplied());
+        context.assertEquals(1l, consumer.getFailed());
+        context.assertEquals(1l, consumer.getFailures().get(MetricsObservers.FAILURE_CODE));
+        context.assertEquals(3l, consumer.getQueueWait().getCount());
+        context.assertEquals(3l, consumer.getExecutionTime().getCount());
+        context.assertTrue(consumer.getExecutionTime().getMean() >= TimeUnit.MILLISECONDS.toNanos(5));
+        context.assertTrue(consumer.getExecutionTime().getValueAtPercentile(99.0) >= consumer.getExecutionTime().getValueAtPercentile(50.0));
+        context.assertTrue(consumer.getExecutionTime().getValueAtPercentile(99.0) <= consumer.getExecutionTime().getMax());
+
+        JsonObject snapshot = metrics.getSnapshot().getJsonObject(MetricsObservers.WORKER_ADDRESS);
+        context.assertEquals(3l, snapshot.getLong("received"));
+        context.assertEquals(1l, snapshot.getJsonObject("failures").getLong(Integer.toString(MetricsObservers.FAILURE_CODE)));
+        context.assertEquals(3l, snapshot.getJsonObject("executionTime").getLong("count"));
+    }
+
+    @Test
+    public void testEventLoopMetrics(TestContext context) {
+        Async async = context.async();
+        vertx.eventBus().send(MetricsObservers.EVENT_LOOP_ADDRESS, "foo", context.asyncAssertSuccess(r -> async.complete()));
+        async.await(Timeouts.DEFAULT_TIMEOUT);
+        ConsumerMetrics consumer = weldVerticle.container().select(DispatchMetrics.class).get().getConsumer(MetricsObservers.EVENT_LOOP_ADDRESS);
+        context.assertEquals(1l, consumer.getReceived());
+        context.assertEquals(1l, consumer.getReplied());
+        context.assertEquals(0l, consumer.getFailed());
+        context.assertEquals(1l, consumer.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testBatchMetrics(TestContext context) {
+        Async async = context.async(3);
+        for (int i = 0; i < 3; i++) {
+            vertx.eventBus().send(MetricsObservers.BATCH_ADDRESS, "foo" + i, context.asyncAssertSuccess(r -> async.countDown()));
+        }
+        async.await(Timeouts.DEFAULT_TIMEOUT);
+
+        ConsumerMetrics consumer = weldVerticle.container().select(DispatchMetrics.class).get().getConsumer(MetricsObservers.BATCH_ADDRESS);
+        context.assertEquals(3l, consumer.getReceived());
+        context.assertEquals(3l, consumer.getReplied());
+        // A batch is recorded as a single sample
+        context.assertEquals(1l, consumer.getQueueWait().getCount());
+        context.assertEquals(1l, consumer.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testOneWayFailure(TestContext context) {
+        Async async = context.async();
+        ConsumerMetrics consumer = weldVerticle.container().select(DispatchMetrics.class).get().getConsumer(MetricsObservers.ONE_WAY_ADDRESS);
+        // No reply handler - the observer failure is not sent anywhere
+        vertx.eventBus().send(MetricsObservers.ONE_WAY_ADDRESS, "foo");
+        vertx.eventBus().publish(MetricsObservers.ONE_WAY_ADDRESS, "bar");
+        vertx.setPeriodic(10, id -> {
+            if (consumer.getFailed() == 2) {
+                vertx.cancelTimer(id);
+                context.assertEquals(2l, consumer.getReceived());
+                context.assertEquals(0l, consumer.getReplied());
+                context.assertEquals(2l, consumer.getFailures().get(VertxEvent.OBSERVER_FAILURE_CODE));
+                context.assertEquals(2l, consumer.getExecutionTime().getCount());
+                async.complete();
+            }
+        });
+    }
+
+}
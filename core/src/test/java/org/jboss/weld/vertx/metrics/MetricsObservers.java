@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.metrics;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxBatchEvent;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxConsumer.DispatchMode;
+import org.jboss.weld.vertx.VertxEvent;
+
+@ApplicationScoped
+public class MetricsObservers {
+
+    static final String WORKER_ADDRESS = "metrics.worker";
+
+    static final String EVENT_LOOP_ADDRESS = "metrics.eventLoop";
+
+    static final String ONE_WAY_ADDRESS = "metrics.oneWay";
+
+    static final String BATCH_ADDRESS = "metrics.batch";
+
+    static final int FAILURE_CODE = 33;
+
+    public void worker(@Observes @VertxConsumer(WORKER_ADDRESS) VertxEvent event) throws InterruptedException {
+        Thread.sleep(5);
+        if ("fail".equals(event.getMessageBody())) {
+            event.fail(FAILURE_CODE, "failed");
+        }
+        event.setReply("ok");
+    }
+
+    public void eventLoop(@Observes @VertxConsumer(value = EVENT_LOOP_ADDRESS, mode = DispatchMode.EVENT_LOOP) VertxEvent event) {
+        event.setReply("ok");
+    }
+
+    public void batch(@Observes @VertxConsumer(value = BATCH_ADDRESS, batchSize = 3, batchTimeout = 5000) VertxBatchEvent event) {
+        for (VertxEvent item : event.getEvents()) {
+            item.setReply("ok");
+        }
+    }
+
+    public void oneWay(@Observes @VertxConsumer(ONE_WAY_ADDRESS) VertxEvent event) {
+        throw new IllegalStateException("failed");
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.reply;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+
+import org.jboss.weld.vertx.RecipientFailure;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.vertx.core.Vertx;
+
+@ApplicationScoped
+public class AsyncReplyObservers {
+
+    static final String STAGE_ADDRESS = "reply.stage";
+    static final String FAILURE_ADDRESS = "reply.failure";
+    static final String OBSERVES_ASYNC_ADDRESS = "reply.observesAsync";
+    static final int FAILURE_CODE = 42;
+
+    @Inject
+    Vertx vertx;
+
+    public void replyLater(@Observes @VertxConsumer(value = STAGE_ADDRESS, mode = VertxConsumer.DispatchMode.EVENT_LOOP) VertxEvent event) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        vertx.setTimer(10, id -> reply.complete("later:" + event.getMessageBody()));
+        event.setAsyncReply(reply);
+    }
+
+    public void failLater(@Observes @VertxConsumer(FAILURE_ADDRESS) VertxEvent event) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        vertx.setTimer(10, id -> reply.completeExceptionally(new RecipientFailure(FAILURE_CODE, "failed:" + event.getMessageBody())));
+        event.setAsyncReply(reply);
+    }
+
+    public void observeAsync(@ObservesAsync @VertxConsumer(OBSERVES_ASYNC_ADDRESS) VertxEvent event) {
+        event.setReply("async:" + event.getMessageBody());
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.reply;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonArray;
+
+@ApplicationScoped
+public class RequestObservers {
+
+    static final String UPPER_ADDRESS = "request.upper";
+    static final String SINGLE_ADDRESS = "request.single";
+    static final String FAN_OUT_ADDRESS = "request.fanOut";
+    static final String SEND_ALL_ADDRESS = "request.sendAll";
+    static final String COLLECT_ADDRESS = "request.collect";
+    static final String CONTEXT_ADDRESS = "request.context";
+    static final int FAILURE_CODE = 42;
+
+    static final List<Object> COLLECTED = new CopyOnWriteArrayList<>();
+
+    public void upper(@Observes @VertxConsumer(UPPER_ADDRESS) VertxEvent event) {
+        String body = event.getMessageBody().toString();
+        if (body.startsWith("fail")) {
+            event.fail(FAILURE_CODE, body);
+        } else {
+            event.setReply(body.toUpperCase());
+        }
+    }
+
+    public void single(@Observes @VertxConsumer(value = SINGLE_ADDRESS, mode = VertxConsumer.DispatchMode.EVENT_LOOP) VertxEvent event) {
+        event.setAsyncReply(event.messageTo(UPPER_ADDRESS).request(event.getMessageBody()).thenApply(Message::body));
+    }
+
+    public void context(@Observes @VertxConsumer(value = CONTEXT_ADDRESS, mode = VertxConsumer.DispatchMode.EVENT_LOOP) VertxEvent event) {
+        Context context = Vertx.currentContext();
+        event.setAsyncReply(event.messageTo(UPPER_ADDRESS).request(event.getMessageBody()).thenApplyAsync(m -> Vertx.currentContext() == context));
+    }
+
+    public void fanOut(@Observes @VertxConsumer(value = FAN_OUT_ADDRESS, mode = VertxConsumer.DispatchMode.EVENT_LOOP) VertxEvent event) {
+        JsonArray items = (JsonArray) event.getMessageBody();
+        event.setAsyncReply(event.messageTo(UPPER_ADDRESS).<String> requestAll(items)
+                .thenApply(replies -> replies.stream().map(Message::body).collect(Collectors.joining(",")))
+                .exceptionally(t -> "failed:" + ((ReplyException) t.getCause()).failureCode()));
+    }
+
+    public void sendAll(@Observes @VertxConsumer(SEND_ALL_ADDRESS) VertxEvent event) {
+        event.messageTo(COLLECT_ADDRESS).sendAll((JsonArray) event.getMessageBody());
+    }
+
+    public void collect(@Observes @VertxConsumer(value = COLLECT_ADDRESS, mode = VertxConsumer.DispatchMode.WORKER_ORDERED) VertxEvent event) {
+        COLLECTED.add(event.getMessageBody());
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.reply;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.Arrays;
+
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class RequestTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        RequestObservers.COLLECTED.clear();
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(RequestObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testRequest(TestContext context) {
+        vertx.eventBus().send(RequestObservers.SINGLE_ADDRESS, "foo", context.asyncAssertSuccess(r -> context.assertEquals("FOO", r.body())));
+    }
+
+    @Test
+    public void testRequestContext(TestContext context) {
+        vertx.eventBus().send(RequestObservers.CONTEXT_ADDRESS, "foo", context.asyncAssertSuccess(r -> context.assertEquals(true, r.body())));
+    }
+
+    @Test
+    public void testRequestAll(TestContext context) {
+        vertx.eventBus().send(RequestObservers.FAN_OUT_ADDRESS, new JsonArray().add("a").add("b").add("c").add("d"),
+                context.asyncAssertSuccess(r -> context.assertEquals("A,B,C,D", r.body())));
+    }
+
+    @Test
+    public void testRequestAllEmpty(TestContext context) {
+        vertx.eventBus().send(RequestObservers.FAN_OUT_ADDRESS, new JsonArray(), context.asyncAssertSuccess(r -> context.assertEquals("", r.body())));
+    }
+
+    @Test
+    public void testRequestAllFailure(TestContext context) {
+        vertx.eventBus().send(RequestObservers.FAN_OUT_ADDRESS, new JsonArray().add("a").add("fail").add("c"),
+                context.asyncAssertSuccess(r -> context.assertEquals("failed:" + RequestObservers.FAILURE_CODE, r.body())));
+    }
+
+    @Test
+    public void testSendAll(TestContext context) throws InterruptedException {
+        Async async = context.async();
+        vertx.eventBus().send(RequestObservers.SEND_ALL_ADDRESS, new JsonArray().add(1).add(2).add(3));
+        vertx.setPeriodic(10, id -> {
+            if (RequestObservers.COLLECTED.size() == 3) {
+                vertx.cancelTimer(id);
+                context.assertEquals(Arrays.asList(1, 2, 3), RequestObservers.COLLECTED);
+                async.complete();
+            }
+        });
+    }
+
+}
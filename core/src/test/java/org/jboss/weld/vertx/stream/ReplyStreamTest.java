@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.stream;
+
+import static org.jboss.weld.vertx.WeldVerticle.createDefaultWeld;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.weld.vertx.ReplyStreams;
+import org.jboss.weld.vertx.Timeouts;
+import org.jboss.weld.vertx.VertxEvent;
+import org.jboss.weld.vertx.WeldVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ *
+ * @author Martin Kouba
+ */
+@RunWith(VertxUnitRunner.class)
+public class ReplyStreamTest {
+
+    private Vertx vertx;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.millis(Timeouts.GLOBAL_TIMEOUT);
+
+    @Before
+    public void init(TestContext context) {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new WeldVerticle(createDefaultWeld().disableDiscovery().beanClasses(StreamObservers.class)), context.asyncAssertSuccess());
+    }
+
+    @After
+    public void close(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testStreamedReply(TestContext context) {
+        Async async = context.async();
+        List<Object> items = new ArrayList<>();
+        ReplyStreams.request(vertx, StreamObservers.EXPORT_ADDRESS, 100).exceptionHandler(context::fail).endHandler(v -> {
+            context.assertEquals(100, items.size());
+            for (int i = 0; i < items.size(); i++) {
+                context.assertEquals(i, items.get(i));
+            }
+            async.complete();
+        }).handler(items::add);
+    }
+
+    @Test
+    public void testFlowControl(TestContext context) {
+        Async async = context.async();
+        List<Object> items = new ArrayList<>();
+        ReadStream<Object> stream = ReplyStreams.request(vertx, StreamObservers.FLOW_CONTROL_ADDRESS, 20);
+        stream.exceptionHandler(context::fail).endHandler(v -> {
+            context.assertEquals(20, items.size());
+            for (int i = 0; i < items.size(); i++) {
+                context.assertEquals(i, items.get(i));
+            }
+            async.complete();
+        }).handler(item -> {
+            items.add(item);
+            // Pause for a while after each item
+            stream.pause();
+            vertx.setTimer(5, id -> stream.resume());
+        });
+    }
+
+    @Test
+    public void testRegularReply(TestContext context) {
+        Async async = context.async();
+        List<Object> items = new ArrayList<>();
+        ReplyStreams.request(vertx, StreamObservers.REGULAR_ADDRESS, "foo").exceptionHandler(context::fail).endHandler(v -> {
+            context.assertEquals(1, items.size());
+            context.assertEquals("single", items.get(0));
+            async.complete();
+        }).handler(items::add);
+    }
+
+    @Test
+    public void testFailure(TestContext context) {
+        Async async = context.async();
+        ReplyStreams.request(vertx, StreamObservers.FAILURE_ADDRESS, "foo").exceptionHandler(t -> {
+            context.assertTrue(t instanceof ReplyException);
+            context.assertEquals(StreamObservers.FAILURE_CODE, ((ReplyException) t).failureCode());
+            async.complete();
+        }).endHandler(v -> context.fail("Stream must not end")).handler(item -> {
+        });
+    }
+
+    @Test
+    public void testIdleTimeout(TestContext context) {
+        Async async = context.async();
+        List<Object> items = new ArrayList<>();
+        ReplyStreams.request(vertx, StreamObservers.IDLE_ADDRESS, "foo", new DeliveryOptions().setSendTimeout(200)).exceptionHandler(t -> {
+            context.assertTrue(t instanceof ReplyException);
+            // Both ends detect the idle stream - either the reader times out or the producer fails the stream
+            ReplyException failure = (ReplyException) t;
+            context.assertTrue(ReplyFailure.TIMEOUT.equals(failure.failureType()) || failure.failureCode() == VertxEvent.OBSERVER_FAILURE_CODE, "" + failure);
+            context.assertEquals(1, items.size());
+            async.complete();
+        }).endHandler(v -> context.fail()).handler(items::add);
+    }
+
+    @Test
+    public void testPausedTimeout(TestContext context) {
+        Async async = context.async();
+        ReadStream<Object> stream = ReplyStreams.request(vertx, StreamObservers.EXPORT_ADDRESS, 5, new DeliveryOptions().setSendTimeout(200));
+        stream.exceptionHandler(t -> {
+            // The producer does not wait for the acknowledgement any longer
+            context.assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) t).failureType());
+            async.complete();
+        }).endHandler(v -> context.fail("Stream must not end")).handler(item -> stream.pause());
+    }
+
+    @Test
+    public void testIdleProducerReleased(TestContext context) {
+        Async async = context.async();
+        // The first stream is never ended but the producer gives up after the timeout so that the next message can be processed
+        ReplyStreams.request(vertx, StreamObservers.IDLE_IN_FLIGHT_ADDRESS, "first", new DeliveryOptions().setSendTimeout(200)).handler(item -> {
+        });
+        ReplyStreams.request(vertx, StreamObservers.IDLE_IN_FLIGHT_ADDRESS, "second", new DeliveryOptions().setSendTimeout(5000)).handler(item -> {
+            context.assertEquals("second", item);
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testMaxInFlight(TestContext context) {
+        StreamObservers.OPEN_MAX.set(0);
+        Async async = context.async(3);
+        for (int i = 0; i < 3; i++) {
+            ReplyStreams.request(vertx, StreamObservers.IN_FLIGHT_ADDRESS, i).exceptionHandler(context::fail).endHandler(v -> async.countDown()).handler(item -> {
+            });
+        }
+        async.awaitSuccess(Timeouts.DEFAULT_TIMEOUT);
+        // The next message is not processed until the stream of the previous one is ended
+        context.assertEquals(1, StreamObservers.OPEN_MAX.get());
+    }
+
+    @Test
+    public void testStreamNotAccepted(TestContext context) {
+        vertx.eventBus().send(StreamObservers.UNSUPPORTED_ADDRESS, "foo", context.asyncAssertSuccess(r -> context.assertEquals("unsupported", r.body())));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.stream;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.weld.vertx.RecipientFailure;
+import org.jboss.weld.vertx.ReplyStream;
+import org.jboss.weld.vertx.VertxConsumer;
+import org.jboss.weld.vertx.VertxEvent;
+
+import io.vertx.core.Vertx;
+
+@ApplicationScoped
+public class StreamObservers {
+
+    static final String EXPORT_ADDRESS = "stream.export";
+
+    static final String FLOW_CONTROL_ADDRESS = "stream.flowControl";
+
+    static final String REGULAR_ADDRESS = "stream.regular";
+
+    static final String FAILURE_ADDRESS = "stream.failure";
+
+    static final String UNSUPPORTED_ADDRESS = "stream.unsupported";
+
+    static final String IDLE_ADDRESS = "stream.idle";
+
+    static final String IN_FLIGHT_ADDRESS = "stream.inFlight";
+
+    static final String IDLE_IN_FLIGHT_ADDRESS = "stream.idleInFlight";
+
+    static final int FAILURE_CODE = 15;
+
+    static final AtomicInteger OPEN = new AtomicInteger();
+
+    static final AtomicInteger OPEN_MAX = new AtomicInteger();
+
+    @Inject
+    Vertx vertx;
+
+    public void export(@Observes @VertxConsumer(EXPORT_ADDRESS) VertxEvent event) {
+        ReplyStream stream = event.replyStream();
+        int count = (Integer) event.getMessageBody();
+        for (int i = 0; i < count; i++) {
+            stream.write(i);
+        }
+        stream.end();
+    }
+
+    public void flowControl(@Observes @VertxConsumer(FLOW_CONTROL_ADDRESS) VertxEvent event) {
+        ReplyStream stream = event.replyStream().setWriteQueueMaxSize(2);
+        writeItems(stream, new int[] { 0 }, (Integer) event.getMessageBody());
+    }
+
+    public void regular(@Observes @VertxConsumer(REGULAR_ADDRESS) VertxEvent event) {
+        event.setReply("single");
+    }
+
+    public void failure(@Observes @VertxConsumer(FAILURE_ADDRESS) VertxEvent event) {
+        event.replyStream().write("first");
+        throw new RecipientFailure(FAILURE_CODE, "export failed");
+    }
+
+    public void idle(@Observes @VertxConsumer(IDLE_ADDRESS) VertxEvent event) {
+        // The stream is never ended
+        event.replyStream().write("first");
+    }
+
+    public void inFlight(@Observes @VertxConsumer(value = IN_FLIGHT_ADDRESS, maxInFlight = 1) VertxEvent event) {
+        OPEN_MAX.accumulateAndGet(OPEN.incrementAndGet(), Math::max);
+        ReplyStream stream = event.replyStream();
+        stream.write(event.getMessageBody());
+        vertx.setTimer(50, id -> {
+            OPEN.decrementAndGet();
+            stream.end();
+        });
+    }
+
+    public void idleInFlight(@Observes @VertxConsumer(value = IDLE_IN_FLIGHT_ADDRESS, maxInFlight = 1) VertxEvent event) {
+        // The stream is never ended
+        event.replyStream().write(event.getMessageBody());
+    }
+
+    public void unsupported(@Observes @VertxConsumer(UNSUPPORTED_ADDRESS) VertxEvent event) {
+        try {
+            event.replyStream();
+        } catch (IllegalStateException expected) {
+            event.setReply("unsupported");
+        }
+    }
+
+    private void writeItems(ReplyStream stream, int[] next, int count) {
+        while (next[0] < count) {
+            if (stream.writeQueueFull()) {
+                // Continue when the sender catches up
+                stream.drainHandler(v -> writeItems(stream, next, count));
+                return;
+            }
+            stream.write(next[0]++);
+        }
+        stream.end();
+    }
+
+}
@@ -61,7 +61,7 @@ public class ServiceProxyExtension implements Extension {
         serviceInterfaces = new HashSet<>();
     }
 
-    void findServiceInterfaces(@Observes @WithAnnotations(ProxyGen.class) ProcessAnnotatedType<?> event, BeanManager beanManager) {
+    synchronized void findServiceInterfaces(@Observes @WithAnnotations(ProxyGen.class) ProcessAnnotatedType<?> event, BeanManager beanManager) {
         AnnotatedType<?> annotatedType = event.getAnnotatedType();
         if (annotatedType.isAnnotationPresent(ProxyGen.class) && annotatedType.getJavaClass().isInterface()) {
             LOGGER.debug("Service interface {0} discovered", annotatedType.getJavaClass());
@@ -0,0 +1,301 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.vertx.web;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.Vetoed;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.Cookie;
+import io.vertx.ext.web.FileUpload;
+import io.vertx.ext.web.ParsedHeaderValues;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.Session;
+
+/**
+ * A routing context used by a handler executed outside the Vert.x context of the route, e.g. on a virtual thread. The current route is preserved and
+ * {@link #next()}, {@link #fail(int)}, {@link #fail(Throwable)}, {@link #reroute(HttpMethod, String)} and the methods ending the response are always
+ * executed on the given context, i.e. the following handlers are executed on the original event loop.
+ *
+ * @author Martin Kouba
+ */
+@Vetoed
+class ContextRoutingContext implements RoutingContext {
+
+    private final RoutingContext delegate;
+
+    private final Route currentRoute;
+
+    private final Context context;
+
+    private final HttpServerResponse response;
+
+    ContextRoutingContext(RoutingContext delegate, Route currentRoute, Context context) {
+        this.delegate = delegate;
+        this.currentRoute = currentRoute;
+        this.context = context;
+        this.response = new ContextHttpServerResponse(delegate.response(), context);
+    }
+
+    @Override
+    public HttpServerRequest request() {
+        return delegate.request();
+    }
+
+    @Override
+    public HttpServerResponse response() {
+        return response;
+    }
+
+    @Override
+    public void next() {
+        context.runOnContext(v -> delegate.next());
+    }
+
+    @Override
+    public void fail(int statusCode) {
+        context.runOnContext(v -> delegate.fail(statusCode));
+    }
+
+    @Override
+    public void fail(Throwable throwable) {
+        context.runOnContext(v -> delegate.fail(throwable));
+    }
+
+    @Override
+    public RoutingContext put(String key, Object obj) {
+        delegate.put(key, obj);
+        return this;
+    }
+
+    @Override
+    public <T> T get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T remove(String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public Map<String, Object> data() {
+        return delegate.data();
+    }
+
+    @Override
+    public Vertx vertx() {
+        return delegate.vertx();
+    }
+
+    @Override
+    public String mountPoint() {
+        return delegate.mountPoint();
+    }
+
+    @Override
+    public Route currentRoute() {
+        return currentRoute;
+    }
+
+    @Override
+    public String normalisedPath() {
+        return delegate.normalisedPath();
+    }
+
+    @Override
+    public Cookie getCookie(String name) {
+        return delegate.getCookie(name);
+    }
+
+    @Override
+    public RoutingContext addCookie(Cookie cookie) {
+        delegate.addCookie(cookie);
+        return this;
+    }
+
+    @Override
+    public Cookie removeCookie(String name, boolean invalidate) {
+        return delegate.removeCookie(name, invalidate);
+    }
+
+    @Override
+    public int cookieCount() {
+        return delegate.cookieCount();
+    }
+
+    @Override
+    public Set<Cookie> cookies() {
+        return delegate.cookies();
+    }
+
+    @Override
+    public String getBodyAsString() {
+        return delegate.getBodyAsString();
+    }
+
+    @Override
+    public String getBodyAsString(String encoding) {
+        return delegate.getBodyAsString(encoding);
+    }
+
+    @Override
+    public JsonObject getBodyAsJson() {
+        return delegate.getBodyAsJson();
+    }
+
+    @Override
+    public JsonArray getBodyAsJsonArray() {
+        return delegate.getBodyAsJsonArray();
+    }
+
+    @Override
+    public Buffer getBody() {
+        return delegate.getBody();
+    }
+
+    @Override
+    public Set<FileUpload> fileUploads() {
+        return delegate.fileUploads();
+    }
+
+    @Override
+    public Session session() {
+        return delegate.session();
+    }
+
+    @Override
+    public User user() {
+        return delegate.user();
+    }
+
+    @Override
+    public Throwable failure() {
+        return delegate.failure();
+    }
+
+    @Override
+    public int statusCode() {
+        return delegate.statusCode();
+    }
+
+    @Override
+    public String getAcceptableContentType() {
+        return delegate.getAcceptableContentType();
+    }
+
+    @Override
+    public ParsedHeaderValues parsedHeaders() {
+        return delegate.parsedHeaders();
+    }
+
+    @Override
+    public int addHeadersEndHandler(Handler<Void> handler) {
+        return delegate.addHeadersEndHandler(handler);
+    }
+
+    @Override
+    public boolean removeHeadersEndHandler(int handlerID) {
+        return delegate.removeHeadersEndHandler(handlerID);
+    }
+
+    @Override
+    public int addBodyEndHandler(Handler<Void> handler) {
+        return delegate.addBodyEndHandler(handler);
+    }
+
+    @Override
+    public boolean removeBodyEndHandler(int handlerID) {
+        return delegate.removeBodyEndHandler(handlerID);
+    }
+
+    @Override
+    public boolean failed() {
+        return delegate.failed();
+    }
+
+    @Override
+    public void setBody(Buffer body) {
+        delegate.setBody(body);
+    }
+
+    @Override
+    public void setSession(Session session) {
+        delegate.setSession(session);
+    }
+
+    @Override
+    public void setUser(User user) {
+        delegate.setUser(user);
+    }
+
+    @Override
+    public void clearUser() {
+        delegate.clearUser();
+    }
+
+    @Override
+    public void setAcceptableContentType(String contentType) {
+        delegate.setAcceptableContentType(contentType);
+    }
+
+    @Override
+    public void reroute(HttpMethod method, String path) {
+        context.runOnContext(v -> delegate.reroute(method, path));
+    }
+
+    @Deprecated
+    @Override
+    public List<io.vertx.ext.web.Locale> acceptableLocales() {
+        return delegate.acceptableLocales();
+    }
+
+    @Override
+    public Map<String, String> pathParams() {
+        return delegate.pathParams();
+    }
+
+    @Override
+    public String pathParam(String name) {
+        return delegate.pathParam(name);
+    }
+
+    @Override
+    public MultiMap queryParams() {
+        return delegate.queryParams();
+    }
+
+    @Override
+    public List<String> queryParam(String query) {
+        return delegate.queryParam(query);
+    }
+
+}
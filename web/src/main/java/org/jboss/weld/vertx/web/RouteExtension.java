@@ -45,8 +45,10 @@ import javax.enterprise.inject.spi.WithAnnotations;
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
 import org.jboss.weld.util.reflection.HierarchyDiscovery;
 import org.jboss.weld.util.reflection.Reflections;
+import org.jboss.weld.vertx.AsyncWorker;
 
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -75,7 +77,7 @@ public class RouteExtension implements Extension {
     // Implementation note - ProcessAnnotatedType<? extends Handler<RoutingContext>> is more correct but prevents Weld from using
     // FastProcessAnnotatedTypeResolver
     @SuppressWarnings({ "unchecked" })
-    void processHandlerAnnotatedType(@Observes @WithAnnotations({ WebRoute.class, WebRoutes.class }) ProcessAnnotatedType<?> event, BeanManager beanManager) {
+    synchronized void processHandlerAnnotatedType(@Observes @WithAnnotations({ WebRoute.class, WebRoutes.class }) ProcessAnnotatedType<?> event, BeanManager beanManager) {
         AnnotatedType<?> annotatedType = event.getAnnotatedType();
         if (isWebRoute(annotatedType) && isRouteHandler(annotatedType)) {
             LOGGER.debug("Route handler found: {0}", annotatedType);
@@ -183,6 +185,9 @@ public class RouteExtension implements Extension {
                 // We don't mind if blocking handlers are executed in parallel
                 route.blockingHandler(handler, false);
                 break;
+            case VIRTUAL:
+                route.handler(new VirtualThreadHandler(handler));
+                break;
             case FAILURE:
                 route.failureHandler(handler);
                 break;
@@ -302,6 +307,30 @@ public class RouteExtension implements Extension {
 
     }
 
+    private static class VirtualThreadHandler implements Handler<RoutingContext> {
+
+        private final Handler<RoutingContext> delegate;
+
+        VirtualThreadHandler(Handler<RoutingContext> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void handle(RoutingContext ctx) {
+            // There is no Vert.x context on a virtual thread - make sure the current route is preserved and the routing continues on the original event loop
+            ContextRoutingContext contextRoutingContext = new ContextRoutingContext(ctx, ctx.currentRoute(), Vertx.currentContext());
+            AsyncWorker.from(ctx.vertx()).performVirtual(() -> {
+                delegate.handle(contextRoutingContext);
+                return null;
+            }).whenComplete((r, failure) -> {
+                if (failure != null) {
+                    ctx.fail(failure);
+                }
+            });
+        }
+
+    }
+
     private boolean hasEventParameter(AnnotatedMethod<?> annotatedMethod) {
         for (AnnotatedParameter<?> param : annotatedMethod.getParameters()) {
             if (param.isAnnotationPresent(Observes.class)) {
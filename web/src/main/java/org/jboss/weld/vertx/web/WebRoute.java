@@ -26,6 +26,8 @@ import java.lang.annotation.Target;
 
 import javax.enterprise.inject.Stereotype;
 
+import org.jboss.weld.vertx.AsyncWorker;
+
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.Route;
@@ -133,6 +135,18 @@ public @interface WebRoute {
          * @see Route#blockingHandler(Handler)
          */
         BLOCKING,
+        /**
+         * A blocking request handler executed using a new virtual thread.
+         * <p>
+         * Virtual threads require JDK 21+. If not supported, the handler is executed using a worker thread, i.e. as {@link #BLOCKING}.
+         * </p>
+         * <p>
+         * <code>RoutingContext.next()</code>, <code>fail()</code> and ending the response are always executed on the event loop of the route.
+         * </p>
+         *
+         * @see AsyncWorker#performVirtual(java.util.concurrent.Callable)
+         */
+        VIRTUAL,
         /**
          * A failure handler.
          *
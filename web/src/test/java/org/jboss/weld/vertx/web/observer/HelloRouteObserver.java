@@ -18,6 +18,7 @@ package org.jboss.weld.vertx.web.observer;
 
 import static org.jboss.weld.vertx.web.WebRoute.HandlerType.BLOCKING;
 import static org.jboss.weld.vertx.web.WebRoute.HandlerType.FAILURE;
+import static org.jboss.weld.vertx.web.WebRoute.HandlerType.VIRTUAL;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
@@ -32,6 +33,8 @@ import io.vertx.ext.web.RoutingContext;
 @ApplicationScoped
 public class HelloRouteObserver {
 
+    static final String EVENT_LOOP_THREAD = "eventLoopThread";
+
     @WebRoute("/hello")
     void hello(@Observes RoutingContext ctx, SayHelloService service) {
         ctx.response().setStatusCode(200).end(service.hello());
@@ -59,6 +62,27 @@ public class HelloRouteObserver {
         ctx.response().setStatusCode(200).end(helloService.hello());
     }
 
+    @WebRoute(value = "/hello-virtual", type = VIRTUAL)
+    void helloVirtual(@Observes RoutingContext ctx, SayHelloService service) {
+        ctx.response().setStatusCode(200).end(service.hello());
+    }
+
+    @WebRoute(value = "/virtual-chain", order = 1)
+    void virtualChainStart(@Observes RoutingContext ctx) {
+        ctx.put(EVENT_LOOP_THREAD, Thread.currentThread().getName());
+        ctx.next();
+    }
+
+    @WebRoute(value = "/virtual-chain", order = 2, type = VIRTUAL)
+    void virtualChain(@Observes RoutingContext ctx) {
+        ctx.next();
+    }
+
+    @WebRoute(value = "/virtual-chain", order = 3)
+    void virtualChainEnd(@Observes RoutingContext ctx) {
+        ctx.response().setStatusCode(200).end("" + Thread.currentThread().getName().equals(ctx.get(EVENT_LOOP_THREAD)));
+    }
+
     @WebRoute(value = "/hello-chain", order = 2)
     void helloChain(@Observes RoutingContext ctx) {
         ctx.response().setStatusCode(200).end("ok");
@@ -138,6 +138,21 @@ public class WebRouteObserversTest {
         assertEquals("path:/bar", poll());
     }
 
+    @Test
+    public void testVirtual() throws InterruptedException {
+        HttpClient client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(8080));
+        client.get("/hello-virtual").handler(response -> response.bodyHandler(b -> SYNCHRONIZER.add(b.toString()))).end();
+        assertEquals(SayHelloService.MESSAGE, poll());
+    }
+
+    @Test
+    public void testVirtualChain() throws InterruptedException {
+        HttpClient client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(8080));
+        client.get("/virtual-chain").handler(response -> response.bodyHandler(b -> SYNCHRONIZER.add(b.toString()))).end();
+        // The handler following the virtual one is executed on the original event loop
+        assertEquals("true", poll());
+    }
+
     @Test
     public void testIgnored() throws InterruptedException {
         HttpClient client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(8080));